@@ -0,0 +1,132 @@
+package com.pubnub.cennotifications.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import android.os.Bundle;
+
+import com.facebook.react.bridge.WritableMap;
+import com.pubnub.cennotifications.helpers.CENCollections;
+import com.pubnub.cennotifications.helpers.CENSerialization;
+
+
+/**
+ * Throughput of conversions which is done for each received remote notification.
+ * Run with 'gc' profiler (enabled in module configuration) to get allocation rate for each conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CENConversionsBenchmark {
+
+    @Param({
+        CENPayloads.SMALL_MESSAGE,
+        CENPayloads.NESTED_CEPAYLOAD,
+        CENPayloads.LARGE_EXTRAS,
+        CENPayloads.MESSAGES_ARRAY
+    })
+    public String payloadName;
+
+    /**
+     * Remote notification data in form in which it received from FCM.
+     */
+    private Map<String, Object> payload;
+
+    /**
+     * Notification data values (messages list for 'messagesArray' payload).
+     */
+    private List<Object> values;
+
+    /**
+     * Notification data in form in which it passed with intents.
+     */
+    private Bundle bundle;
+
+    /**
+     * Notification data in form in which it received from JavaScript.
+     */
+    private WritableMap readableMap;
+
+    /**
+     * Notification data in form in which it stored.
+     */
+    private String json;
+
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        payload = CENPayloads.payload(payloadName);
+        values = payload.containsKey("messages") ? (List<Object>) payload.get("messages") :
+            new ArrayList<>(payload.values());
+        bundle = CENCollections.bundleFrom(payload);
+        readableMap = CENCollections.writableMapFrom(payload);
+        json = CENSerialization.toJSONString(payload);
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Collections
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public Bundle bundleFromMap() {
+        return CENCollections.bundleFrom(payload);
+    }
+
+    @Benchmark
+    public Map<String, Object> mapFromBundle() {
+        return CENCollections.mapFrom(bundle);
+    }
+
+    @Benchmark
+    public Map<String, Object> mapFromReadableMap() {
+        return CENCollections.mapFrom(readableMap);
+    }
+
+    @Benchmark
+    public List<Object> listFromList() {
+        return CENCollections.listFrom(values);
+    }
+
+    @Benchmark
+    public Object rnCollectionFromMap() {
+        return CENCollections.rnCollectionFrom(payload);
+    }
+
+    @Benchmark
+    public Object rnCollectionFromBundle() {
+        return CENCollections.rnCollectionFrom(bundle);
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Serialization
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Benchmark
+    public String toJSONStringFromMap() {
+        return CENSerialization.toJSONString(payload);
+    }
+
+    @Benchmark
+    public String toJSONStringFromReadableMap() {
+        return CENSerialization.toJSONString(readableMap);
+    }
+
+    @Benchmark
+    public Object toObjectFromJSONString() {
+        return CENSerialization.toObject(json);
+    }
+}
@@ -0,0 +1,174 @@
+package com.pubnub.cennotifications.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.pubnub.cennotifications.helpers.CENSerialization;
+
+
+/**
+ * ChatEngine notification payloads which is used as benchmarks input.
+ */
+class CENPayloads {
+
+    /**
+     * Names of payloads which can be created by {@link #payload(String)}.
+     */
+    static final String SMALL_MESSAGE = "smallMessage";
+    static final String NESTED_CEPAYLOAD = "nestedCEPayload";
+    static final String LARGE_EXTRAS = "largeExtras";
+    static final String MESSAGES_ARRAY = "messagesArray";
+
+    /**
+     * Number of extra keys in {@link #LARGE_EXTRAS} payload.
+     */
+    private static final int EXTRAS_COUNT = 50;
+
+    /**
+     * Number of messages in {@link #MESSAGES_ARRAY} payload.
+     */
+    private static final int MESSAGES_COUNT = 100;
+
+
+    /**
+     * Create notification payload with specified name.
+     *
+     * @param name One of payload names defined by this class.
+     * @return Reference on payload which has same structure as remote notification data received from FCM.
+     */
+    static Map<String, Object> payload(String name) {
+        Map<String, Object> payload;
+
+        switch (name) {
+            case SMALL_MESSAGE:
+                payload = smallMessage();
+                break;
+            case NESTED_CEPAYLOAD:
+                payload = nestedCEPayload();
+                break;
+            case LARGE_EXTRAS:
+                payload = largeExtras();
+                break;
+            case MESSAGES_ARRAY:
+                payload = messagesArray();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown payload: " + name);
+        }
+
+        return payload;
+    }
+
+    /**
+     * Create payload for single chat message with notification fields and flat ChatEngine payload.
+     */
+    private static Map<String, Object> smallMessage() {
+        Map<String, Object> payload = notificationFields("New message", "Hello there!");
+        payload.put("cepayload", chatEnginePayload(0, false));
+
+        return payload;
+    }
+
+    /**
+     * Create payload with ChatEngine payload which is serialized into JSON string (as FCM delivers it) and has nested
+     * sender state and event data.
+     */
+    private static Map<String, Object> nestedCEPayload() {
+        Map<String, Object> payload = notificationFields("Invitation", "You has been invited to chat");
+        payload.put("cepayload", CENSerialization.toJSONString(chatEnginePayload(0, true)));
+
+        return payload;
+    }
+
+    /**
+     * Create payload for chat message with large number of additional notification keys.
+     */
+    private static Map<String, Object> largeExtras() {
+        Map<String, Object> payload = smallMessage();
+
+        for (int extraIdx = 0; extraIdx < EXTRAS_COUNT; extraIdx++) {
+            if (extraIdx % 3 == 0)
+                payload.put("extra" + extraIdx, extraIdx);
+            else if (extraIdx % 3 == 1)
+                payload.put("extra" + extraIdx, extraIdx % 2 == 0);
+            else
+                payload.put("extra" + extraIdx, "value for extra key number " + extraIdx);
+        }
+
+        return payload;
+    }
+
+    /**
+     * Create payload which contain large array of messages (like missed messages delivered at once).
+     */
+    private static Map<String, Object> messagesArray() {
+        Map<String, Object> payload = notificationFields("Missed messages", MESSAGES_COUNT + " new messages");
+        List<Object> messages = new ArrayList<>(MESSAGES_COUNT);
+
+        for (int messageIdx = 0; messageIdx < MESSAGES_COUNT; messageIdx++)
+            messages.add(chatEnginePayload(messageIdx, messageIdx % 2 == 0));
+        payload.put("messages", messages);
+
+        return payload;
+    }
+
+    /**
+     * Create map with fields which is used by module to show notification.
+     */
+    private static Map<String, Object> notificationFields(String title, String body) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("google.message_id", "0:1539770000000000%abcdef0123456789");
+        payload.put("google.sent_time", 1539770000000L);
+        payload.put("from", "/topics/chat-engine");
+        payload.put("collapse_key", "com.pubnub.chatengine.demo");
+        payload.put("title", title);
+        payload.put("message", body);
+        payload.put("ticker", body);
+        payload.put("smallIcon", "ic_notification");
+        payload.put("badge", 3);
+
+        return payload;
+    }
+
+    /**
+     * Create ChatEngine payload.
+     *
+     * @param index Index of message which is used to make payloads different.
+     * @param nested Whether payload should include nested sender state and event data.
+     */
+    private static Map<String, Object> chatEnginePayload(int index, boolean nested) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("chat", "chat-engine#chat#public.#general");
+        payload.put("event", nested ? "$.invite" : "message");
+        payload.put("sender", "user-" + index);
+        payload.put("category", "com.pubnub.chat-engine.message");
+        payload.put("eid", "4a7d0f1e-" + index + "-4c59-9e4b-8d0a6b1c2f3e");
+        payload.put("timetoken", 15397700000000000L + index);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("text", "Message number " + index + " with some text which is long enough to be realistic.");
+        if (nested) {
+            Map<String, Object> state = new HashMap<>();
+            state.put("name", "User " + index);
+            state.put("online", true);
+            state.put("lastSeen", 1539770000.5 + index);
+
+            List<Object> tags = new ArrayList<>();
+            tags.add("admin");
+            tags.add("moderator");
+            state.put("tags", tags);
+
+            Map<String, Object> sender = new HashMap<>();
+            sender.put("uuid", "user-" + index);
+            sender.put("state", state);
+
+            data.put("channel", "chat-engine#chat#private.#" + index);
+            data.put("sender", sender);
+        }
+        payload.put("data", data);
+
+        return payload;
+    }
+}
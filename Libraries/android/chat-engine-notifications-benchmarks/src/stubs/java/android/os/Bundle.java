@@ -0,0 +1,106 @@
+package android.os;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Pure-JVM replacement for Android Bundle which is used by benchmarks.
+ * Only methods which is used by conversion helpers implemented.
+ */
+@SuppressWarnings("unused")
+public final class Bundle {
+
+    private final Map<String, Object> values;
+
+
+    public Bundle() {
+        values = new HashMap<>();
+    }
+
+    public Bundle(Bundle bundle) {
+        values = new HashMap<>(bundle.values);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    public Set<String> keySet() {
+        return values.keySet();
+    }
+
+    public boolean containsKey(String key) {
+        return values.containsKey(key);
+    }
+
+    public Object get(String key) {
+        return values.get(key);
+    }
+
+    public void remove(String key) {
+        values.remove(key);
+    }
+
+    public void putAll(Bundle bundle) {
+        values.putAll(bundle.values);
+    }
+
+    public void putBoolean(String key, boolean value) {
+        values.put(key, value);
+    }
+
+    public void putInt(String key, int value) {
+        values.put(key, value);
+    }
+
+    public void putLong(String key, long value) {
+        values.put(key, value);
+    }
+
+    public void putDouble(String key, double value) {
+        values.put(key, value);
+    }
+
+    public void putString(String key, String value) {
+        values.put(key, value);
+    }
+
+    public void putBundle(String key, Bundle value) {
+        values.put(key, value);
+    }
+
+    public void putSerializable(String key, Serializable value) {
+        values.put(key, value);
+    }
+
+    public void putStringArrayList(String key, ArrayList<String> value) {
+        values.put(key, value);
+    }
+
+    public String getString(String key) {
+        Object value = values.get(key);
+
+        return value instanceof String ? (String) value : null;
+    }
+
+    public Bundle getBundle(String key) {
+        Object value = values.get(key);
+
+        return value instanceof Bundle ? (Bundle) value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public ArrayList<String> getStringArrayList(String key) {
+        Object value = values.get(key);
+
+        return value instanceof ArrayList ? (ArrayList<String>) value : null;
+    }
+}
@@ -0,0 +1,18 @@
+package android.util;
+
+
+/**
+ * Pure-JVM replacement for Android JsonToken which is used by benchmarks.
+ */
+public enum JsonToken {
+    BEGIN_ARRAY,
+    END_ARRAY,
+    BEGIN_OBJECT,
+    END_OBJECT,
+    NAME,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL,
+    END_DOCUMENT
+}
@@ -0,0 +1,17 @@
+package com.facebook.react.bridge;
+
+
+/**
+ * Pure-JVM replacement for React Native Arguments which is used by benchmarks.
+ * Native collections replaced with Java-only implementations.
+ */
+public class Arguments {
+
+    public static WritableMap createMap() {
+        return new JavaOnlyMap();
+    }
+
+    public static WritableArray createArray() {
+        return new JavaOnlyArray();
+    }
+}
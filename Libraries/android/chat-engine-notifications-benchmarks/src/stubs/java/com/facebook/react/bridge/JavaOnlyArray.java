@@ -0,0 +1,70 @@
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Java-only WritableArray implementation which is used by benchmarks instead of native array.
+ */
+public class JavaOnlyArray implements WritableArray {
+
+    private final List<Object> values = new ArrayList<>();
+
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public ArrayList<Object> toArrayList() {
+        ArrayList<Object> list = new ArrayList<>(values.size());
+
+        for (Object value : values) {
+            if (value instanceof ReadableMap)
+                value = ((ReadableMap) value).toHashMap();
+            else if (value instanceof ReadableArray)
+                value = ((ReadableArray) value).toArrayList();
+
+            list.add(value);
+        }
+
+        return list;
+    }
+
+    @Override
+    public void pushNull() {
+        values.add(null);
+    }
+
+    @Override
+    public void pushBoolean(boolean value) {
+        values.add(value);
+    }
+
+    @Override
+    public void pushDouble(double value) {
+        values.add(value);
+    }
+
+    @Override
+    public void pushInt(int value) {
+        values.add((double) value);
+    }
+
+    @Override
+    public void pushString(String value) {
+        values.add(value);
+    }
+
+    @Override
+    public void pushArray(WritableArray array) {
+        values.add(array);
+    }
+
+    @Override
+    public void pushMap(WritableMap map) {
+        values.add(map);
+    }
+}
@@ -0,0 +1,76 @@
+package com.facebook.react.bridge;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Java-only WritableMap implementation which is used by benchmarks instead of native map.
+ */
+public class JavaOnlyMap implements WritableMap {
+
+    private final Map<String, Object> values = new HashMap<>();
+
+
+    @Override
+    public boolean hasKey(String name) {
+        return values.containsKey(name);
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        return values.get(name) == null;
+    }
+
+    @Override
+    public HashMap<String, Object> toHashMap() {
+        HashMap<String, Object> map = new HashMap<>();
+
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof ReadableMap)
+                value = ((ReadableMap) value).toHashMap();
+            else if (value instanceof ReadableArray)
+                value = ((ReadableArray) value).toArrayList();
+
+            map.put(entry.getKey(), value);
+        }
+
+        return map;
+    }
+
+    @Override
+    public void putNull(String key) {
+        values.put(key, null);
+    }
+
+    @Override
+    public void putBoolean(String key, boolean value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putDouble(String key, double value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putInt(String key, int value) {
+        values.put(key, (double) value);
+    }
+
+    @Override
+    public void putString(String key, String value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putArray(String key, WritableArray value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putMap(String key, WritableMap value) {
+        values.put(key, value);
+    }
+}
@@ -0,0 +1,14 @@
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+
+
+/**
+ * Pure-JVM replacement for React Native ReadableArray which is used by benchmarks.
+ */
+public interface ReadableArray {
+
+    int size();
+
+    ArrayList<Object> toArrayList();
+}
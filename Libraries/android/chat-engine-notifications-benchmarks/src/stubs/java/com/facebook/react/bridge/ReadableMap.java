@@ -0,0 +1,16 @@
+package com.facebook.react.bridge;
+
+import java.util.HashMap;
+
+
+/**
+ * Pure-JVM replacement for React Native ReadableMap which is used by benchmarks.
+ */
+public interface ReadableMap {
+
+    boolean hasKey(String name);
+
+    boolean isNull(String name);
+
+    HashMap<String, Object> toHashMap();
+}
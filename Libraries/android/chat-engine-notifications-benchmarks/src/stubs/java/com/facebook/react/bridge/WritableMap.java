@@ -0,0 +1,22 @@
+package com.facebook.react.bridge;
+
+
+/**
+ * Pure-JVM replacement for React Native WritableMap which is used by benchmarks.
+ */
+public interface WritableMap extends ReadableMap {
+
+    void putNull(String key);
+
+    void putBoolean(String key, boolean value);
+
+    void putDouble(String key, double value);
+
+    void putInt(String key, int value);
+
+    void putString(String key, String value);
+
+    void putArray(String key, WritableArray value);
+
+    void putMap(String key, WritableMap value);
+}
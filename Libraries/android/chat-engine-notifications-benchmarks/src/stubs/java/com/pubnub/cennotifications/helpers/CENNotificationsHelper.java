@@ -0,0 +1,19 @@
+package com.pubnub.cennotifications.helpers;
+
+
+/**
+ * Pure-JVM replacement for module helper which provide only logging functions used by conversion helpers.
+ * Messages ignored, so logging doesn't affect measurements.
+ */
+@SuppressWarnings("unused")
+public class CENNotificationsHelper {
+
+    public static void Logi(String message) {
+    }
+
+    public static void Loge(String message, Throwable error) {
+    }
+
+    public static void Logw(String message) {
+    }
+}
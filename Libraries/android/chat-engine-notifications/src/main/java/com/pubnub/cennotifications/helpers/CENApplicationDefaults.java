@@ -0,0 +1,222 @@
+package com.pubnub.cennotifications.helpers;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.os.Bundle;
+
+
+/**
+ * Process-wide cache for application information which is used for each notification: AndroidManifest meta-data,
+ * default notification icons, application label and resource identifiers.
+ * Cache populated lazily and invalidated on configuration change (resources may change with locale or density) along
+ * with large icons cache.
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENApplicationDefaults {
+
+    /**
+     * Reference on cache instance which is shared by all module components.
+     */
+    @Nullable private static volatile CENApplicationDefaults sharedInstance;
+
+    /**
+     * Whether application context has been subscribed on configuration change or not.
+     */
+    private static boolean observingConfigurationChanges = false;
+
+    /**
+     * Name of application package.
+     */
+    public final String packageName;
+
+    /**
+     * Reference on object which provide access to package's resources.
+     */
+    public final Resources resources;
+
+    /**
+     * Default notification channel identifier from AndroidManifest meta-data.
+     */
+    @Nullable public final String channelId;
+
+    /**
+     * Default notification small icon resource identifier from AndroidManifest meta-data ('0' if not set).
+     */
+    public final int metaDataSmallIcon;
+
+    /**
+     * Default notification color from AndroidManifest meta-data.
+     */
+    @Nullable public final Integer color;
+
+    /**
+     * Default notification small icon resource identifier ('ic_notification' or 'ic_launcher').
+     */
+    public final int smallIcon;
+
+    /**
+     * Resource entry name for default notification small icon.
+     */
+    @Nullable public final String smallIconName;
+
+    /**
+     * Application label which is used as default notification title.
+     */
+    public final String applicationLabel;
+
+    /**
+     * Resource identifiers mapped to their type and name.
+     */
+    private final Map<String, Integer> resourceIdentifiers = new ConcurrentHashMap<>();
+
+
+    /**
+     * Retrieve reference on cached application defaults.
+     *
+     * @param context Reference on execution context.
+     * @return Application defaults which is valid for current configuration.
+     */
+    public static CENApplicationDefaults sharedInstance(Context context) {
+        CENApplicationDefaults defaults = sharedInstance;
+
+        if (defaults == null) {
+            synchronized (CENApplicationDefaults.class) {
+                defaults = sharedInstance;
+
+                if (defaults == null) {
+                    Context appContext = context.getApplicationContext();
+                    observeConfigurationChanges(appContext);
+                    defaults = new CENApplicationDefaults(appContext);
+                    sharedInstance = defaults;
+                }
+            }
+        }
+
+        return defaults;
+    }
+
+    /**
+     * Drop cached application defaults, so they will be re-created on next access.
+     */
+    public static void invalidate() {
+        sharedInstance = null;
+    }
+
+    private CENApplicationDefaults(Context context) {
+        String defaultChannelId = null;
+        int defaultSmallIcon = 0;
+        Integer defaultColor = null;
+
+        packageName = context.getPackageName();
+        resources = context.getResources();
+
+        try {
+            PackageManager packageManager = context.getPackageManager();
+            ApplicationInfo applicationInfo = packageManager.getApplicationInfo(packageName, PackageManager.GET_META_DATA);
+            Bundle metaData = applicationInfo.metaData;
+
+            // Check and use default notification channel from AndroidManifest file.
+            if (metaData.containsKey("com.google.firebase.messaging.default_notification_channel_id")) {
+                defaultChannelId = metaData.getString("com.google.firebase.messaging.default_notification_channel_id");
+            }
+            // Check and use default notification icon from AndroidManifest file.
+            if (metaData.containsKey("com.google.firebase.messaging.default_notification_icon")) {
+                defaultSmallIcon = metaData.getInt("com.google.firebase.messaging.default_notification_icon");
+            }
+            // Check and use default notification icon color from AndroidManifest file.
+            if (metaData.containsKey("com.google.firebase.messaging.default_notification_color")) {
+                defaultColor = metaData.getInt("com.google.firebase.messaging.default_notification_color");
+            }
+        } catch (Exception exception) {
+            CENNotificationsHelper.Loge("Unable to get application information", exception);
+        }
+
+        channelId = defaultChannelId;
+        metaDataSmallIcon = defaultSmallIcon;
+        color = defaultColor;
+
+        int defaultIcon = iconResourceId("ic_notification");
+        smallIcon = defaultIcon != 0 ? defaultIcon : iconResourceId("ic_launcher");
+        smallIconName = resourceEntryName(metaDataSmallIcon != 0 ? metaDataSmallIcon : smallIcon);
+        applicationLabel = context.getPackageManager().getApplicationLabel(context.getApplicationInfo()).toString();
+    }
+
+    /**
+     * Retrieve identifier of 'mipmap' resource with specified name.
+     *
+     * @param name Reference on name of icon resource.
+     * @return Resource identifier or '0' if there is no such resource.
+     */
+    public int iconResourceId(@Nullable String name) {
+        return resourceId(name, "mipmap");
+    }
+
+    /**
+     * Retrieve identifier of resource with specified name and type.
+     *
+     * @param name Reference on name of resource.
+     * @param type Reference on type of resource.
+     * @return Resource identifier or '0' if there is no such resource.
+     */
+    public int resourceId(@Nullable String name, String type) {
+        if (name == null)
+            return 0;
+
+        String key = type + '/' + name;
+        Integer resourceId = resourceIdentifiers.get(key);
+
+        if (resourceId == null) {
+            resourceId = resources.getIdentifier(name, type, packageName);
+            resourceIdentifiers.put(key, resourceId);
+        }
+
+        return resourceId;
+    }
+
+    /**
+     * Retrieve entry name for resource with specified identifier.
+     *
+     * @param resourceId Resource identifier.
+     * @return Resource entry name or 'null' if there is no such resource.
+     */
+    @Nullable
+    public String resourceEntryName(int resourceId) {
+        try {
+            return resources.getResourceEntryName(resourceId);
+        } catch (Resources.NotFoundException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Subscribe on application configuration change to invalidate cached data.
+     *
+     * @param context Reference on application context.
+     */
+    private static void observeConfigurationChanges(Context context) {
+        if (observingConfigurationChanges)
+            return;
+
+        observingConfigurationChanges = true;
+        context.registerComponentCallbacks(new ComponentCallbacks() {
+            @Override
+            public void onConfigurationChanged(Configuration configuration) {
+                CENApplicationDefaults.invalidate();
+                CENIconsCache.clear();
+            }
+
+            @Override
+            public void onLowMemory() {
+                CENIconsCache.clear();
+            }
+        });
+    }
+}
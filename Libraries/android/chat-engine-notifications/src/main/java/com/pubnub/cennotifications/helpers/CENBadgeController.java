@@ -0,0 +1,144 @@
+package com.pubnub.cennotifications.helpers;
+
+import android.content.Context;
+import me.leolin.shortcutbadger.ShortcutBadger;
+
+
+/**
+ * Application icon badge number controller.
+ * Controller remember last successfully applied badge number (also in persistent storage), skip updates which won't
+ * change it and debounce bursts of updates into single trailing update. Updates from processes without UI (where
+ * trailing update may never run) applied immediately.
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENBadgeController {
+
+    /**
+     * Key under which last applied badge number stored in settings storage.
+     */
+    private static final String BADGE_NUMBER_KEY = "@CENNotifications:badgeNumber";
+
+    /**
+     * Delay (in milliseconds) during which badge number updates collected before they will be applied.
+     */
+    private static final long DEBOUNCE_DELAY = 300;
+
+    /**
+     * Badge number which has been applied last time ('-1' if unknown).
+     */
+    private static int appliedNumber = -1;
+
+    /**
+     * Badge number which should be applied with next scheduled update.
+     */
+    private static int pendingNumber = -1;
+
+    /**
+     * Whether badge number update has been scheduled or not.
+     */
+    private static boolean updateScheduled = false;
+
+    /**
+     * Whether last applied badge number has been loaded from persistent storage or not.
+     */
+    private static boolean loaded = false;
+
+
+    /**
+     * Update application icon badge number.
+     * Update will be debounced with other updates which will be requested during {@link #DEBOUNCE_DELAY}.
+     *
+     * @param context Reference on execution context.
+     * @param number Value which should be shown on application's badge number. Zero and less will remove badge from
+     *               application's icon.
+     */
+    public static void setBadgeNumber(Context context, int number) {
+        setBadgeNumber(context, number, true);
+    }
+
+    /**
+     * Update application icon badge number.
+     *
+     * @param context Reference on execution context.
+     * @param number Value which should be shown on application's badge number. Zero and less will remove badge from
+     *               application's icon.
+     * @param debounce Whether update can be debounced or should be applied before method return (when process may be
+     *                 stopped right after caller's task completion).
+     */
+    public static void setBadgeNumber(Context context, int number, boolean debounce) {
+        final Context appContext = context.getApplicationContext();
+        number = Math.max(0, number);
+
+        synchronized (CENBadgeController.class) {
+            load(appContext);
+            if (number == (updateScheduled ? pendingNumber : appliedNumber))
+                return;
+
+            pendingNumber = number;
+            if (debounce) {
+                if (updateScheduled)
+                    return;
+                updateScheduled = true;
+            }
+        }
+
+        if (!debounce) {
+            apply(appContext);
+            return;
+        }
+
+        CENNotificationsQueue.schedule(new Runnable() {
+            @Override
+            public void run() {
+                apply(appContext);
+            }
+        }, DEBOUNCE_DELAY);
+    }
+
+    /**
+     * Retrieve application icon badge number.
+     *
+     * @param context Reference on execution context.
+     * @return Badge number which has been set last time or '-1' in case if it never has been set.
+     */
+    public static synchronized int badgeNumber(Context context) {
+        load(context);
+
+        return updateScheduled ? pendingNumber : appliedNumber;
+    }
+
+    /**
+     * Apply pending badge number (if it differs from currently applied number).
+     * Badge number remembered only if launcher accepted it, so failed update will be retried with next request.
+     *
+     * @param context Reference on execution context.
+     */
+    private static void apply(Context context) {
+        int number;
+
+        synchronized (CENBadgeController.class) {
+            updateScheduled = false;
+            if (pendingNumber == appliedNumber)
+                return;
+
+            number = pendingNumber;
+        }
+
+        if (!ShortcutBadger.applyCount(context, number)) {
+            CENNotificationsHelper.Logw("CENBadgeController#apply: unable to apply " + number + " badge number.");
+            return;
+        }
+
+        synchronized (CENBadgeController.class) {
+            appliedNumber = number;
+        }
+        CENNotificationsHelper.settingsStorage(context).edit().putInt(BADGE_NUMBER_KEY, number).apply();
+    }
+
+    private static void load(Context context) {
+        if (!loaded) {
+            appliedNumber = CENNotificationsHelper.settingsStorage(context).getInt(BADGE_NUMBER_KEY, -1);
+            loaded = true;
+        }
+    }
+}
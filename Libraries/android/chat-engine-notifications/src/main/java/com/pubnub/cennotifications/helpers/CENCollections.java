@@ -67,20 +67,25 @@ public class CENCollections {
     }
 
     /**
-     * Put non-collection objects as-is and serialize collections before putting them into Bundle.
+     * Put non-collection objects as-is and convert collections to native Bundle collections before putting them into
+     * Bundle: key/value collections stored as nested Bundle and lists as ArrayList.
      *
      * @param bundle Reference on Bundle instance inside of which data should be stored.
      * @param key Reference on key under which data should be stored.
      * @param value Reference on value which should be stored inside of passed Bundle.
      */
     public static void putToBundle(Bundle bundle, String key, Object value) {
-        if (value instanceof List || isJavaArray(value) || value instanceof Map || value instanceof Bundle ||
-            value instanceof JSONArray || value instanceof JSONObject || value instanceof ReadableArray ||
-            value instanceof ReadableMap) {
-            String serializedCollection = CENSerialization.toJSONString(value);
+        if (value instanceof Map || value instanceof Bundle || value instanceof JSONObject || value instanceof ReadableMap) {
+            Bundle valueBundle = bundleFrom(value);
 
-            if (serializedCollection != null)
-                bundle.putString(key, serializedCollection);
+            if (valueBundle != null)
+                bundle.putBundle(key, valueBundle);
+        } else if (value instanceof List || isJavaArray(value) || value instanceof JSONArray ||
+            value instanceof ReadableArray) {
+            ArrayList<Object> list = bundleListFrom(value);
+
+            if (list != null)
+                bundle.putSerializable(key, list);
         } else if (value instanceof String)
             bundle.putString(key, (String) value);
         else if (value instanceof Number) {
@@ -92,12 +97,44 @@ public class CENCollections {
                 bundle.putDouble(key, ((Number) value).doubleValue());
         } else if (value instanceof Boolean)
                 bundle.putBoolean(key, (Boolean) value);
-        else
+        else if (value != null)
             Loge("Attempt to store unsupported object under '" + key + "' key into Bundle", null);
     }
 
     /**
-     * Retrieve value from Bundle and for Strings try to de-serialize in case if it was collection object.
+     * Convert passed list collection to ArrayList which can be stored inside of Bundle.
+     * Key/value collections inside of list converted to Bundle and lists to ArrayList.
+     *
+     * @param object Reference on list collection of different data type which should be converted.
+     * @return ArrayList with values which can be stored in Bundle or 'null' if object can't be converted.
+     */
+    @Nullable
+    private static ArrayList<Object> bundleListFrom(Object object) {
+        List source = object instanceof List ? (List) object : listFrom(object);
+        if (source == null)
+            return null;
+
+        ArrayList<Object> list = new ArrayList<>(source.size());
+        for (Object value : source) {
+            if (value instanceof Map || value instanceof Bundle || value instanceof JSONObject ||
+                value instanceof ReadableMap)
+                value = bundleFrom(value);
+            else if (value instanceof List || isJavaArray(value) || value instanceof JSONArray ||
+                value instanceof ReadableArray)
+                value = bundleListFrom(value);
+            else if (value != null && !(value instanceof String || value instanceof Number || value instanceof Boolean))
+                continue;
+
+            list.add(value);
+        }
+
+        return list;
+    }
+
+    /**
+     * Retrieve value from Bundle and for Strings which has been serialized from collection object try to de-serialize
+     * them. Bundles created by this module store collections natively, so only Strings which start with object or
+     * array opening token (from foreign Bundles like FCM extras) will be parsed.
      *
      * @param bundle Reference on bundle from which data should be retrieved.
      * @param key Reference on key which should be used to access data.
@@ -105,21 +142,16 @@ public class CENCollections {
      */
     @Nullable
     public static Object getFromBundle(Bundle bundle, String key) {
-        if (bundle.containsKey(key)) {
-            Object value = bundle.get(key);
+        Object value = bundle.get(key);
 
-            switch (value.getClass().getName()) {
-                case "java.lang.String":
-                    Object collection = CENSerialization.toObject((String) value, false);
+        if (value instanceof String) {
+            Object collection = CENSerialization.toObject((String) value, false);
 
-                    if (collection != null)
-                        value = collection;
-                    break;
-            }
-            return value;
+            if (collection != null)
+                value = collection;
         }
 
-        return null;
+        return value;
     }
 
     /////////////////////////////////////////////////////////////////////////////////////////////////
@@ -142,10 +174,10 @@ public class CENCollections {
                 putToMap(map, (String) key, ((Map) object).get(key), true);
         else if (object instanceof Bundle) {
             for (String key : ((Bundle) object).keySet()) {
-                Object value = getFromBundle((Bundle) object, key);
+                Object value = plainValueFrom(getFromBundle((Bundle) object, key));
 
                 if (value != null)
-                    putToMap(map, key, value, true);
+                    putToMap(map, key, value, false);
             }
         } else if (object instanceof JSONObject) {
             Iterator<String> iterator = ((JSONObject) object).keys();
@@ -172,6 +204,29 @@ public class CENCollections {
         return map;
     }
 
+    /**
+     * Convert value which has been retrieved from Bundle to plain collection objects.
+     * Nested Bundles converted to HashMap and lists (which may contain Bundles) to ArrayList.
+     *
+     * @param value Reference on value which has been retrieved from Bundle.
+     * @return Value which can be stored in plain collection objects.
+     */
+    @Nullable
+    private static Object plainValueFrom(@Nullable Object value) {
+        if (value instanceof Bundle)
+            return mapFrom(value);
+        else if (value instanceof List) {
+            List<Object> list = new ArrayList<>(((List) value).size());
+
+            for (Object entry : (List) value)
+                list.add(plainValueFrom(entry));
+
+            return list;
+        }
+
+        return value;
+    }
+
     /**
      * Put value into Map and if required, convert it to plain collection objects if required.
      *
@@ -353,7 +408,7 @@ public class CENCollections {
             writableMap = Arguments.createMap();
 
             for (String key : ((Bundle) object).keySet())
-                putToWritableMap(writableMap, key, ((Bundle) object).get(key));
+                putToWritableMap(writableMap, key, getFromBundle((Bundle) object, key));
         } else if (object instanceof JSONObject) {
             writableMap = Arguments.createMap();
             Iterator<String> iterator = ((JSONObject) object).keys();
@@ -404,7 +459,9 @@ public class CENCollections {
             map.putArray(key, (WritableArray) value);
         else if (value instanceof ReadableMap)
             map.putMap(key, (WritableMap) value);
-        else if (value != null)
+        else if (value == null)
+            map.putNull(key);
+        else
             Loge("Attempt to store unsupported object under '" + key + "' key into WritableMap", null);
     }
 
@@ -450,12 +507,12 @@ public class CENCollections {
      * @param value Reference on value which should be stored inside of passed WritableArray.
      */
     public static void putToWritableArray(WritableArray array, Object value) {
-        if (value instanceof Map) {
+        if (value instanceof Map || value instanceof Bundle || value instanceof JSONObject) {
             value = writableMapFrom(value);
 
             if (value != null)
                 array.pushMap((WritableMap) value);
-        } else if (value instanceof List || isJavaArray(value)) {
+        } else if (value instanceof List || isJavaArray(value) || value instanceof JSONArray) {
             value = writableArrayFrom(value);
 
             if (value != null)
@@ -469,7 +526,9 @@ public class CENCollections {
                 array.pushDouble(((Number) value).doubleValue());
         } else if (value instanceof Boolean)
             array.pushBoolean((Boolean) value);
-        else if (value != null)
+        else if (value == null)
+            array.pushNull();
+        else
             Loge("Attempt to store unsupported into WritableArray", null);
     }
 
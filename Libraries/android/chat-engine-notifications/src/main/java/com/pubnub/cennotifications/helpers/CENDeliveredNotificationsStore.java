@@ -0,0 +1,561 @@
+package com.pubnub.cennotifications.helpers;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.pubnub.cennotifications.models.CENNotification;
+
+
+/**
+ * Persistent storage for notifications which has been delivered to device and not seen by user yet.
+ * Storage maintain secondary indices (Chat Engine event identifier and notification identifier to storage key), so
+ * lookup and removal of particular notification doesn't require de-serialization of rest of stored notifications.
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENDeliveredNotificationsStore {
+
+    /**
+     * Name of key/value storage which is used to store serialized notifications.
+     */
+    private static final String STORAGE_NAME = "@CENNotifications:notifications";
+
+    /**
+     * Name of key/value storage which is used to store indices for stored notifications.
+     */
+    private static final String INDEX_STORAGE_NAME = "@CENNotifications:notifications-index";
+
+    private static final String MAX_COUNT_KEY = "@CENNotifications:notificationsMaxCount";
+    private static final String MAX_BYTES_KEY = "@CENNotifications:notificationsMaxBytes";
+    private static final String MAX_AGE_KEY = "@CENNotifications:notificationsMaxAge";
+
+    private static final int DEFAULT_MAX_COUNT = 200;
+    private static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+    private static final long DEFAULT_MAX_AGE = 7 * 24 * 60 * 60 * 1000L;
+
+    /**
+     * Reference on store instance which is shared by all module components.
+     */
+    private static CENDeliveredNotificationsStore sharedInstance;
+
+    /**
+     * Reference on application context which is used to create storage keys.
+     */
+    private final Context context;
+
+    /**
+     * Reference on key/value storage which is used to store serialized notifications.
+     */
+    private final CENStorage storage;
+
+    /**
+     * Reference on key/value storage which is used to store stored notification index entries.
+     */
+    private final CENStorage indexStorage;
+
+    /**
+     * Stored notification index entries ordered by storage keys (in order in which notifications has been stored).
+     */
+    private final TreeMap<String, Entry> entries = new TreeMap<>(CENSequence.KEYS_ORDER);
+
+    /**
+     * Chat Engine event identifier (lower-cased) to storage key map.
+     */
+    private final Map<String, String> eidIndex = new HashMap<>();
+
+    /**
+     * Notification identifier to storage key map.
+     */
+    private final Map<Integer, String> idIndex = new HashMap<>();
+
+    /**
+     * Reference on storage which is used to store store limits.
+     */
+    private final SharedPreferences settings;
+
+    /**
+     * Maximum number of notifications which can be stored (non-positive value means unlimited).
+     */
+    private int maxCount;
+
+    /**
+     * Maximum total size of serialized notifications (non-positive value means unlimited).
+     */
+    private long maxBytes;
+
+    /**
+     * Maximum age of stored notification in milliseconds (non-positive value means unlimited).
+     */
+    private long maxAge;
+
+    /**
+     * Total size of serialized notifications.
+     */
+    private long storedBytes = 0;
+
+
+    /**
+     * Retrieve reference on store which is shared by all module components.
+     *
+     * @param context Reference on execution context.
+     * @return Configured and ready to use delivered notifications store.
+     */
+    public static synchronized CENDeliveredNotificationsStore sharedInstance(Context context) {
+        if (sharedInstance == null)
+            sharedInstance = new CENDeliveredNotificationsStore(context.getApplicationContext());
+
+        return sharedInstance;
+    }
+
+    private CENDeliveredNotificationsStore(Context context) {
+        this.context = context;
+        storage = CENNotificationsHelper.storage(context, STORAGE_NAME);
+        indexStorage = CENNotificationsHelper.storage(context, INDEX_STORAGE_NAME);
+        settings = CENNotificationsHelper.settingsStorage(context);
+        maxCount = settings.getInt(MAX_COUNT_KEY, DEFAULT_MAX_COUNT);
+        maxBytes = settings.getLong(MAX_BYTES_KEY, DEFAULT_MAX_BYTES);
+        maxAge = settings.getLong(MAX_AGE_KEY, DEFAULT_MAX_AGE);
+
+        loadIndex();
+        evictIfRequired();
+    }
+
+    /**
+     * Retrieve list of stored notifications.
+     *
+     * @return List of hash maps which represent delivered notifications.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<Map<String, Object>> notifications() {
+        List<Map<String, Object>> notifications = new ArrayList<>();
+
+        for (String key : entries.keySet()) {
+            Map<String, Object> payload = payloadForKey(key);
+
+            if (payload != null)
+                notifications.add(payload);
+        }
+
+        return notifications;
+    }
+
+    /**
+     * Retrieve window of stored notifications (from newest to oldest).
+     * Only notifications which fall into requested window will be read from storage. Notification can't be sent after
+     * it has been stored, so scan stops at first notification which has been stored before 'since' date.
+     *
+     * @param cursor Reference on continuation token which has been returned with previous page or 'null' to start from
+     *               newest notification.
+     * @param limit Maximum number of notifications which should be returned.
+     * @param since Date starting from which (inclusive) notifications should be returned ('0' to return all).
+     * @return Page with requested notifications and continuation token for next page ('null' if there is no more
+     *         notifications which match 'since' date).
+     */
+    public synchronized Page notifications(@Nullable String cursor, int limit, long since) {
+        // Notification which has been used as cursor may be removed since previous page has been requested, so window
+        // is built from keys which is strictly older than cursor.
+        NavigableMap<String, Entry> window = cursor != null ? entries.headMap(cursor, false).descendingMap() :
+                entries.descendingMap();
+        List<Map<String, Object>> notifications = new ArrayList<>();
+        List<Long> dates = new ArrayList<>();
+        String lastKey = null;
+        boolean hasMore = false;
+
+        for (Map.Entry<String, Entry> storedEntry : window.entrySet()) {
+            Entry entry = storedEntry.getValue();
+
+            if (entry.storeDate < since)
+                break;
+            if (entry.date < since)
+                continue;
+            if (notifications.size() >= limit) {
+                hasMore = true;
+                break;
+            }
+
+            Map<String, Object> payload = payloadForKey(storedEntry.getKey());
+            if (payload != null) {
+                notifications.add(payload);
+                dates.add(entry.date);
+                lastKey = storedEntry.getKey();
+            }
+        }
+
+        return new Page(notifications, dates, hasMore ? lastKey : null);
+    }
+
+    /**
+     * Retrieve number of stored notifications.
+     *
+     * @return Number of notifications which is currently stored.
+     */
+    public synchronized int count() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieve stored notification which has been created for Chat Engine event with specified identifier.
+     *
+     * @param eid Unique Chat Engine event identifier.
+     * @return Hash map which represent delivered notification or 'null' if there is no such notification.
+     */
+    @Nullable
+    public synchronized Map<String, Object> notificationWithEID(String eid) {
+        String key = eid != null ? eidIndex.get(eid.toLowerCase()) : null;
+
+        return key != null ? payloadForKey(key) : null;
+    }
+
+    /**
+     * Retrieve stored notification with specified identifier.
+     *
+     * @param id Unique notification identifier.
+     * @return Hash map which represent delivered notification or 'null' if there is no such notification.
+     */
+    @Nullable
+    public synchronized Map<String, Object> notificationWithId(int id) {
+        String key = idIndex.get(id);
+
+        return key != null ? payloadForKey(key) : null;
+    }
+
+    /**
+     * Store passed notification.
+     *
+     * @param notification Reference on notification which should be stored in serialized form.
+     */
+    public synchronized void store(CENNotification notification) {
+        long storeDate = (new Date()).getTime();
+        long notificationDate = notification.sentTime() > 0 ? notification.sentTime() : storeDate;
+        String stringifiedNotification = CENSerialization.toJSONString(notification.toMap());
+
+        if (stringifiedNotification != null) {
+            String key = CENSequence.nextKey(context, STORAGE_NAME);
+            Map<String, Object> cePayload = notification.chatEnginePayload();
+            Entry entry = new Entry(notification.id(), cePayload != null ? (String) cePayload.get("eid") : null,
+                    notificationDate, storeDate, expirationDate(notificationDate, notification.ttl()),
+                    stringifiedNotification.length());
+
+            storage.put(key, stringifiedNotification);
+            indexStorage.put(key, entry.toString());
+            addEntry(key, entry);
+            evictIfRequired();
+        }
+    }
+
+    /**
+     * Remove notification with specified identifier.
+     *
+     * @param id Unique notification identifier.
+     * @return 'true' in case if notification has been found and removed.
+     */
+    public synchronized boolean removeNotificationWithId(int id) {
+        String key = idIndex.get(id);
+
+        if (key != null)
+            removeStoredEntry(key);
+
+        return key != null;
+    }
+
+    /**
+     * Remove all stored notifications.
+     */
+    public synchronized void clear() {
+        storage.clear();
+        indexStorage.clear();
+        entries.clear();
+        eidIndex.clear();
+        idIndex.clear();
+        storedBytes = 0;
+    }
+
+    /**
+     * Retrieve limits which is used to trim stored notifications.
+     *
+     * @return Map with 'maxCount', 'maxBytes' and 'maxAge' (in milliseconds) limits. Non-positive value means what
+     *         there is no limit.
+     */
+    public synchronized Map<String, Object> limits() {
+        Map<String, Object> limits = new HashMap<>();
+        limits.put("maxCount", maxCount);
+        limits.put("maxBytes", maxBytes);
+        limits.put("maxAge", maxAge);
+
+        return limits;
+    }
+
+    /**
+     * Update limits which is used to trim stored notifications.
+     * Stored notifications will be trimmed right away if they exceed new limits.
+     *
+     * @param limits Map with 'maxCount', 'maxBytes' and / or 'maxAge' (in milliseconds) limits which should be changed.
+     *               Non-positive value means what there is no limit.
+     */
+    public synchronized void setLimits(Map limits) {
+        if (limits.get("maxCount") instanceof Number)
+            maxCount = ((Number) limits.get("maxCount")).intValue();
+        if (limits.get("maxBytes") instanceof Number)
+            maxBytes = ((Number) limits.get("maxBytes")).longValue();
+        if (limits.get("maxAge") instanceof Number)
+            maxAge = ((Number) limits.get("maxAge")).longValue();
+
+        settings.edit()
+                .putInt(MAX_COUNT_KEY, maxCount)
+                .putLong(MAX_BYTES_KEY, maxBytes)
+                .putLong(MAX_AGE_KEY, maxAge)
+                .apply();
+        evictIfRequired();
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Index
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Restore index from persistent storage.
+     * Notifications which has been stored before index has been introduced will be parsed once and added to index
+     * (notification sent date used as it's store date).
+     */
+    @SuppressWarnings("unchecked")
+    private void loadIndex() {
+        for (String key : storage.keys()) {
+            Entry entry = Entry.fromString(indexStorage.get(key));
+
+            if (entry == null) {
+                String stringifiedNotification = storage.get(key);
+                Map<String, Object> payload = stringifiedNotification != null ?
+                        (Map<String, Object>) CENSerialization.toObject(stringifiedNotification) : null;
+                if (payload == null)
+                    continue;
+
+                Object cePayload = payload.get("cepayload");
+                Object eid = cePayload instanceof Map ? ((Map) cePayload).get("eid") : null;
+                Object sentTime = payload.get("google.sent_time");
+                long date = sentTime instanceof Number ? ((Number) sentTime).longValue() : (new Date()).getTime();
+                Object ttl = payload.get("ttl");
+                entry = new Entry(CENNotificationsHelper.getInteger(payload.get("id"), 0),
+                        eid instanceof String ? (String) eid : null, date, date,
+                        expirationDate(date, ttl instanceof Number ? ((Number) ttl).longValue() : -1),
+                        stringifiedNotification.length());
+                indexStorage.put(key, entry.toString());
+            }
+
+            addEntry(key, entry);
+        }
+
+        for (String key : indexStorage.keys()) {
+            if (!entries.containsKey(key))
+                indexStorage.remove(key);
+        }
+    }
+
+    /**
+     * Remove expired notifications and oldest notifications which doesn't fit into limits.
+     */
+    private void evictIfRequired() {
+        long now = (new Date()).getTime();
+        List<String> evictedKeys = new ArrayList<>();
+
+        for (Map.Entry<String, Entry> storedEntry : entries.entrySet()) {
+            Entry entry = storedEntry.getValue();
+
+            if ((entry.expirationDate > 0 && entry.expirationDate <= now) || (maxAge > 0 && now - entry.date > maxAge))
+                evictedKeys.add(storedEntry.getKey());
+        }
+
+        for (String key : evictedKeys)
+            removeStoredEntry(key);
+
+        Iterator<String> keys = entries.keySet().iterator();
+        evictedKeys.clear();
+        int count = entries.size();
+        long bytes = storedBytes;
+
+        while (keys.hasNext() && ((maxCount > 0 && count > maxCount) || (maxBytes > 0 && bytes > maxBytes))) {
+            String key = keys.next();
+            evictedKeys.add(key);
+            bytes -= entries.get(key).size;
+            count--;
+        }
+
+        for (String key : evictedKeys)
+            removeStoredEntry(key);
+
+        if (evictedKeys.size() > 0)
+            CENNotificationsHelper.Logi("CENNotifications#store: evicted " + evictedKeys.size() + " notifications.");
+    }
+
+    /**
+     * Calculate date after which notification can be removed from store.
+     *
+     * @param date Date when notification has been sent.
+     * @param ttl Notification's time to live (in seconds).
+     * @return Notification expiration date or '0' in case if notification doesn't expire.
+     */
+    private static long expirationDate(long date, long ttl) {
+        return ttl > 0 ? date + ttl * 1000 : 0;
+    }
+
+    /**
+     * Remove notification and it's index entry from storage.
+     *
+     * @param key Reference on key under which notification has been stored.
+     */
+    private void removeStoredEntry(String key) {
+        storage.remove(key);
+        indexStorage.remove(key);
+        removeEntry(key);
+    }
+
+    private void addEntry(String key, Entry entry) {
+        entries.put(key, entry);
+        storedBytes += entry.size;
+        idIndex.put(entry.id, key);
+        if (entry.eid != null)
+            eidIndex.put(entry.eid.toLowerCase(), key);
+    }
+
+    private void removeEntry(String key) {
+        Entry entry = entries.remove(key);
+
+        if (entry != null) {
+            storedBytes -= entry.size;
+            if (key.equals(idIndex.get(entry.id)))
+                idIndex.remove(entry.id);
+            if (entry.eid != null && key.equals(eidIndex.get(entry.eid.toLowerCase()))) {
+                eidIndex.remove(entry.eid.toLowerCase());
+
+                // Point index to newest notification which has been created for same event (if any).
+                for (Map.Entry<String, Entry> storedEntry : entries.descendingMap().entrySet()) {
+                    if (entry.eid.equalsIgnoreCase(storedEntry.getValue().eid)) {
+                        eidIndex.put(entry.eid.toLowerCase(), storedEntry.getKey());
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private Map<String, Object> payloadForKey(String key) {
+        String serializedNotification = storage.get(key);
+
+        return serializedNotification != null ?
+                (Map<String, Object>) CENSerialization.toObject(serializedNotification) : null;
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Page
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Window of stored notifications.
+     */
+    public static class Page {
+
+        /**
+         * List of hash maps which represent delivered notifications (from newest to oldest).
+         */
+        public final List<Map<String, Object>> notifications;
+
+        /**
+         * Dates when each of notifications has been delivered.
+         */
+        public final List<Long> dates;
+
+        /**
+         * Continuation token which should be used to request next page or 'null' if there is no more notifications.
+         */
+        @Nullable public final String cursor;
+
+        Page(List<Map<String, Object>> notifications, List<Long> dates, @Nullable String cursor) {
+            this.notifications = notifications;
+            this.dates = dates;
+            this.cursor = cursor;
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Index entry
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Stored notification index entry.
+     */
+    private static class Entry {
+
+        /**
+         * Unique notification identifier.
+         */
+        final int id;
+
+        /**
+         * Unique identifier of Chat Engine event for which notification has been created.
+         */
+        @Nullable final String eid;
+
+        /**
+         * Date when notification has been sent.
+         */
+        final long date;
+
+        /**
+         * Date when notification has been stored.
+         */
+        final long storeDate;
+
+        /**
+         * Date after which notification can be removed from store ('0' if notification doesn't expire).
+         */
+        final long expirationDate;
+
+        /**
+         * Size of serialized notification.
+         */
+        final long size;
+
+        Entry(int id, @Nullable String eid, long date, long storeDate, long expirationDate, long size) {
+            this.id = id;
+            this.eid = eid;
+            this.date = date;
+            this.storeDate = storeDate;
+            this.expirationDate = expirationDate;
+            this.size = size;
+        }
+
+        /**
+         * Restore index entry from it's string representation.
+         *
+         * @param value Reference on string which has been created by {@link #toString()}.
+         * @return Index entry or 'null' in case if passed string is malformed.
+         */
+        @Nullable
+        static Entry fromString(@Nullable String value) {
+            String[] components = value != null ? value.split(":", 6) : null;
+
+            if (components != null && components.length == 6) {
+                try {
+                    return new Entry(Integer.parseInt(components[0]), components[5].length() > 0 ? components[5] : null,
+                            Long.parseLong(components[1]), Long.parseLong(components[4]), Long.parseLong(components[2]),
+                            Long.parseLong(components[3]));
+                } catch (NumberFormatException exception) {
+                    return null;
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return id + ":" + date + ":" + expirationDate + ":" + size + ":" + storeDate + ":" + (eid != null ? eid : "");
+        }
+    }
+}
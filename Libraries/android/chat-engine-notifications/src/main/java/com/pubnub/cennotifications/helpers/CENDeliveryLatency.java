@@ -0,0 +1,255 @@
+package com.pubnub.cennotifications.helpers;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import android.os.SystemClock;
+
+
+/**
+ * Remote notifications end-to-end delivery latency telemetry.
+ * For each received remote notification record with sent-to-received, received-to-posted and received-to-JS-delivered
+ * latencies stored in bounded buffer (oldest records replaced by new one). On-device latencies measured with monotonic
+ * clock ('elapsedRealtime'). Sent-to-received latency calculated from 'google.sent_time' and device clock, so it may be
+ * affected by clock skew (and even be negative).
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENDeliveryLatency {
+
+    /**
+     * Maximum number of delivery records which is kept in buffer.
+     */
+    private static final int BUFFER_SIZE = 256;
+
+    /**
+     * Name of group for notifications which doesn't have channel or Chat Engine event.
+     */
+    private static final String DEFAULT_GROUP = "default";
+
+    /**
+     * Delivery records buffer.
+     */
+    private static final Record[] records = new Record[BUFFER_SIZE];
+
+    /**
+     * Index at which next delivery record will be stored.
+     */
+    private static int nextRecordIdx = 0;
+
+    /**
+     * Total number of records which has been stored into buffer.
+     */
+    private static long recordsCount = 0;
+
+
+    /**
+     * Start delivery tracking for received remote notification.
+     *
+     * @param channel Identifier of notification channel which is used to show notification.
+     * @param event Name of Chat Engine event for which notification has been sent.
+     * @param sentTime Date (in milliseconds) when notification has been sent ('0' or less if unknown).
+     * @param receivedTime Time (milliseconds since boot) when notification has been received by device.
+     * @return Reference on record which should be used to mark further delivery stages.
+     */
+    public static Record received(@Nullable String channel, @Nullable String event, long sentTime, long receivedTime) {
+        Record record = new Record(channel != null ? channel : DEFAULT_GROUP, event != null ? event : DEFAULT_GROUP,
+                sentTime, receivedTime);
+
+        synchronized (records) {
+            records[nextRecordIdx] = record;
+            nextRecordIdx = (nextRecordIdx + 1) % BUFFER_SIZE;
+            recordsCount++;
+        }
+
+        return record;
+    }
+
+    /**
+     * Create snapshot of collected delivery telemetry.
+     *
+     * @return Map with: 'count' - total number of tracked notifications; 'latencies' - latency percentiles for all
+     *         buffered records; 'channels' and 'events' - latency percentiles mapped to notification channel and Chat
+     *         Engine event names.
+     */
+    public static Map<String, Object> snapshot() {
+        List<Record> bufferedRecords = new ArrayList<>(BUFFER_SIZE);
+        long count;
+
+        synchronized (records) {
+            count = recordsCount;
+            for (int recordIdx = 0; recordIdx < BUFFER_SIZE; recordIdx++) {
+                Record record = records[(nextRecordIdx + recordIdx) % BUFFER_SIZE];
+                if (record != null)
+                    bufferedRecords.add(record);
+            }
+        }
+
+        Map<String, List<Record>> channels = new HashMap<>();
+        Map<String, List<Record>> events = new HashMap<>();
+        for (Record record : bufferedRecords) {
+            group(channels, record.channel, record);
+            group(events, record.event, record);
+        }
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("count", (double) count);
+        snapshot.put("latencies", latencies(bufferedRecords));
+        snapshot.put("channels", groupLatencies(channels));
+        snapshot.put("events", groupLatencies(events));
+
+        return snapshot;
+    }
+
+    /**
+     * Add record to list of records for specified group.
+     */
+    private static void group(Map<String, List<Record>> groups, String name, Record record) {
+        List<Record> groupRecords = groups.get(name);
+        if (groupRecords == null) {
+            groupRecords = new ArrayList<>();
+            groups.put(name, groupRecords);
+        }
+
+        groupRecords.add(record);
+    }
+
+    /**
+     * Calculate latency percentiles for each group of records.
+     */
+    private static Map<String, Object> groupLatencies(Map<String, List<Record>> groups) {
+        Map<String, Object> latencies = new HashMap<>();
+        for (Map.Entry<String, List<Record>> entry : groups.entrySet())
+            latencies.put(entry.getKey(), latencies(entry.getValue()));
+
+        return latencies;
+    }
+
+    /**
+     * Calculate percentiles for each latency type.
+     *
+     * @param records List of delivery records.
+     * @return Map with 'sentToReceived', 'receivedToPosted' and 'receivedToDelivered' percentiles.
+     */
+    private static Map<String, Object> latencies(List<Record> records) {
+        List<Long> sentToReceived = new ArrayList<>(records.size());
+        List<Long> receivedToPosted = new ArrayList<>(records.size());
+        List<Long> receivedToDelivered = new ArrayList<>(records.size());
+
+        for (Record record : records) {
+            if (record.sentTime > 0)
+                sentToReceived.add(record.receivedDate - record.sentTime);
+            if (record.postedTime > 0)
+                receivedToPosted.add(record.postedTime - record.receivedTime);
+            if (record.deliveredTime > 0)
+                receivedToDelivered.add(record.deliveredTime - record.receivedTime);
+        }
+
+        Map<String, Object> latencies = new HashMap<>();
+        latencies.put("sentToReceived", percentiles(sentToReceived));
+        latencies.put("receivedToPosted", percentiles(receivedToPosted));
+        latencies.put("receivedToDelivered", percentiles(receivedToDelivered));
+
+        return latencies;
+    }
+
+    /**
+     * Calculate nearest-rank percentiles for list of latencies.
+     *
+     * @param values List of latencies (in milliseconds).
+     * @return Map with 'count' and 'p50', 'p90', 'p99', 'max' latencies in milliseconds.
+     */
+    private static Map<String, Object> percentiles(List<Long> values) {
+        Collections.sort(values);
+
+        Map<String, Object> percentiles = new HashMap<>();
+        percentiles.put("count", (double) values.size());
+        percentiles.put("p50", percentile(values, 0.5));
+        percentiles.put("p90", percentile(values, 0.9));
+        percentiles.put("p99", percentile(values, 0.99));
+        percentiles.put("max", percentile(values, 1.0));
+
+        return percentiles;
+    }
+
+    private static double percentile(List<Long> sortedValues, double fraction) {
+        if (sortedValues.isEmpty())
+            return 0;
+
+        int rank = (int) Math.ceil(sortedValues.size() * fraction);
+
+        return sortedValues.get(Math.max(1, rank) - 1);
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Record
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Single remote notification delivery record.
+     */
+    public static class Record {
+
+        /**
+         * Identifier of notification channel which is used to show notification.
+         */
+        private final String channel;
+
+        /**
+         * Name of Chat Engine event for which notification has been sent.
+         */
+        private final String event;
+
+        /**
+         * Date (in milliseconds) when notification has been sent.
+         */
+        private final long sentTime;
+
+        /**
+         * Date (in milliseconds) when notification has been received by device (used only with sent date).
+         */
+        private final long receivedDate;
+
+        /**
+         * Time (milliseconds since boot) when notification has been received by device.
+         */
+        private final long receivedTime;
+
+        /**
+         * Time (milliseconds since boot) when notification has been posted to notification center.
+         */
+        private volatile long postedTime;
+
+        /**
+         * Time (milliseconds since boot) when notification has been delivered to JS counterpart.
+         */
+        private volatile long deliveredTime;
+
+
+        private Record(String channel, String event, long sentTime, long receivedTime) {
+            this.channel = channel;
+            this.event = event;
+            this.sentTime = sentTime;
+            this.receivedTime = receivedTime;
+            this.receivedDate = System.currentTimeMillis() - (SystemClock.elapsedRealtime() - receivedTime);
+        }
+
+        /**
+         * Mark notification as posted to notification center.
+         */
+        public void posted() {
+            postedTime = SystemClock.elapsedRealtime();
+        }
+
+        /**
+         * Mark notification as delivered to JS counterpart.
+         */
+        public void delivered() {
+            deliveredTime = SystemClock.elapsedRealtime();
+        }
+    }
+}
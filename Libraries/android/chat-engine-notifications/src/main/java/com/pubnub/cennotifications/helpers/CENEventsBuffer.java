@@ -0,0 +1,113 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+
+
+/**
+ * Bounded in-memory buffer for events which has been emitted while JS counterpart wasn't ready to receive them.
+ * Events kept in memory while application is in foreground (JS counterpart most likely still loading) and written to
+ * persistent storage only when buffer overflow, application moves to background or system ask to trim memory.
+ */
+@SuppressWarnings("WeakerAccess")
+class CENEventsBuffer {
+
+    /**
+     * Maximum number of events which can be kept in memory.
+     */
+    private static final int MAX_BUFFER_SIZE = 64;
+
+    /**
+     * Events which is waiting for JS counterpart (oldest first).
+     */
+    private static final ArrayDeque<Map<String, Object>> events = new ArrayDeque<>();
+
+    /**
+     * Whether application context has been subscribed on memory trim notifications or not.
+     */
+    private static boolean observingMemoryTrim = false;
+
+
+    /**
+     * Add event to buffer.
+     * Event will be written to persistent storage right away if application is in background (process may be killed
+     * at any moment).
+     *
+     * @param context Reference on execution context.
+     * @param event Reference on object which represent event.
+     */
+    static synchronized void add(Context context, Map<String, Object> event) {
+        observeMemoryTrim(context);
+
+        if (!CENNotificationsHelper.isApplicationInForeground(context)) {
+            spill(context);
+            CENNotificationsHelper.persistEvent(context, event);
+            return;
+        }
+
+        events.addLast(event);
+        if (events.size() > MAX_BUFFER_SIZE)
+            spill(context);
+    }
+
+    /**
+     * Retrieve list of buffered events.
+     *
+     * @return List of buffered events (oldest first).
+     */
+    static synchronized List<Map<String, Object>> events() {
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Remove all buffered events.
+     */
+    static synchronized void clear() {
+        events.clear();
+    }
+
+    /**
+     * Move all buffered events to persistent storage.
+     *
+     * @param context Reference on execution context.
+     */
+    static synchronized void spill(Context context) {
+        while (!events.isEmpty())
+            CENNotificationsHelper.persistEvent(context, events.pollFirst());
+    }
+
+    /**
+     * Subscribe on system notifications about memory trimming (also called when application moves to background).
+     *
+     * @param context Reference on execution context.
+     */
+    private static void observeMemoryTrim(Context context) {
+        if (observingMemoryTrim)
+            return;
+
+        final Context appContext = context.getApplicationContext();
+        observingMemoryTrim = true;
+        appContext.registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN)
+                    spill(appContext);
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration configuration) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                spill(appContext);
+            }
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package com.pubnub.cennotifications.helpers;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+import android.app.Activity;
+import android.app.ActivityManager;
+import android.app.Application;
+import android.content.Context;
+import android.os.Bundle;
+
+
+/**
+ * Application foreground state tracker.
+ * State updated with activity lifecycle callbacks, so check is a simple field read. Running processes list used only
+ * once, when tracker installed, to get initial state (activities may be started before tracker installation).
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENForegroundTracker implements Application.ActivityLifecycleCallbacks {
+
+    /**
+     * Reference on tracker which has been registered for application.
+     */
+    @Nullable private static CENForegroundTracker sharedInstance;
+
+    /**
+     * Whether application currently is in foreground or not.
+     */
+    private volatile boolean foreground;
+
+    /**
+     * Number of activities which currently started.
+     */
+    private int startedActivities = 0;
+
+    /**
+     * Reference on activity which has been resumed last (if not paused yet).
+     */
+    @Nullable private Activity resumedActivity;
+
+
+    /**
+     * Register activity lifecycle tracker for application (if not registered yet).
+     *
+     * @param context Reference on execution context.
+     */
+    public static synchronized void install(Context context) {
+        Context appContext = context.getApplicationContext();
+
+        if (sharedInstance == null && appContext instanceof Application) {
+            CENForegroundTracker tracker = new CENForegroundTracker(isForegroundProcess(appContext));
+            ((Application) appContext).registerActivityLifecycleCallbacks(tracker);
+            sharedInstance = tracker;
+        }
+    }
+
+    /**
+     * Check whether application currently is in foreground or not.
+     *
+     * @param context Reference on execution context.
+     * @return 'true' in case if application is running in foreground.
+     */
+    public static boolean isApplicationInForeground(Context context) {
+        CENForegroundTracker tracker = sharedInstance;
+        if (tracker == null) {
+            install(context);
+            tracker = sharedInstance;
+        }
+
+        return tracker != null ? tracker.foreground : isForegroundProcess(context);
+    }
+
+    private CENForegroundTracker(boolean foreground) {
+        this.foreground = foreground;
+    }
+
+    @Override
+    public synchronized void onActivityStarted(Activity activity) {
+        startedActivities++;
+        foreground = true;
+    }
+
+    @Override
+    public synchronized void onActivityResumed(Activity activity) {
+        resumedActivity = activity;
+        foreground = true;
+    }
+
+    @Override
+    public synchronized void onActivityPaused(Activity activity) {
+        if (resumedActivity == activity)
+            resumedActivity = null;
+    }
+
+    @Override
+    public synchronized void onActivityStopped(Activity activity) {
+        // Activity may be started before tracker installation, so counter shouldn't go below zero.
+        startedActivities = Math.max(0, startedActivities - 1);
+        foreground = startedActivities > 0 || resumedActivity != null;
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+    }
+
+    @Override
+    public synchronized void onActivityDestroyed(Activity activity) {
+        if (resumedActivity == activity)
+            resumedActivity = null;
+    }
+
+    /**
+     * Check whether among running processes is application process in foreground.
+     *
+     * @param context Reference on execution context.
+     * @return 'true' in case if application is running in foreground.
+     */
+    private static boolean isForegroundProcess(Context context) {
+        ActivityManager manager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        List<ActivityManager.RunningAppProcessInfo> processes = manager != null ? manager.getRunningAppProcesses() : null;
+
+        if (processes != null)
+            for (ActivityManager.RunningAppProcessInfo process : processes)
+                if (process.processName.equalsIgnoreCase(context.getPackageName()))
+                    if (process.importance == ActivityManager.RunningAppProcessInfo.IMPORTANCE_FOREGROUND)
+                        return true;
+        return false;
+    }
+}
@@ -0,0 +1,114 @@
+package com.pubnub.cennotifications.helpers;
+
+import javax.annotation.Nullable;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.LruCache;
+
+
+/**
+ * Process-wide size-bounded cache of decoded notification large icons.
+ * Icons decoded with sampling to the system large icon dimensions, so cached bitmap never exceed size which is
+ * required for notification layout.
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENIconsCache {
+
+    /**
+     * Maximum size of cached bitmaps (in bytes).
+     */
+    private static final int MAX_CACHE_SIZE = 1024 * 1024;
+
+    /**
+     * Decoded large icons mapped to their resource names.
+     */
+    private static final LruCache<String, Bitmap> largeIcons = new LruCache<String, Bitmap>(MAX_CACHE_SIZE) {
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+            return bitmap.getByteCount();
+        }
+    };
+
+
+    /**
+     * Retrieve large icon bitmap for 'mipmap' resource with specified name.
+     *
+     * @param context Reference on code execution context.
+     * @param iconName Reference on name of icon resource.
+     * @return Decoded and sampled to the system large icon dimensions bitmap or 'null' in case if there is no such
+     *         resource or it can't be decoded.
+     */
+    @Nullable
+    public static Bitmap largeIcon(Context context, @Nullable String iconName) {
+        if (iconName == null)
+            return null;
+
+        Bitmap icon = largeIcons.get(iconName);
+        if (icon == null) {
+            icon = decodeLargeIcon(CENApplicationDefaults.sharedInstance(context), iconName);
+            if (icon != null)
+                largeIcons.put(iconName, icon);
+        }
+
+        return icon;
+    }
+
+    /**
+     * Remove all cached icons.
+     */
+    public static void clear() {
+        largeIcons.evictAll();
+    }
+
+    /**
+     * Decode icon resource sampled to the system large icon dimensions.
+     *
+     * @param defaults Reference on application defaults which provide access to application resources.
+     * @param iconName Reference on name of icon resource.
+     * @return Decoded bitmap or 'null' in case if there is no such resource or it can't be decoded.
+     */
+    @Nullable
+    private static Bitmap decodeLargeIcon(CENApplicationDefaults defaults, String iconName) {
+        int resourceId = defaults.iconResourceId(iconName);
+        if (resourceId == 0)
+            return null;
+
+        Resources resources = defaults.resources;
+        int width = resources.getDimensionPixelSize(android.R.dimen.notification_large_icon_width);
+        int height = resources.getDimensionPixelSize(android.R.dimen.notification_large_icon_height);
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, resourceId, options);
+
+        options.inSampleSize = 1;
+        if (options.outWidth > 0 && options.outHeight > 0) {
+            while (options.outWidth / (options.inSampleSize * 2) >= width &&
+                    options.outHeight / (options.inSampleSize * 2) >= height) {
+                options.inSampleSize *= 2;
+            }
+        }
+        options.inJustDecodeBounds = false;
+
+        Bitmap icon = null;
+        try {
+            icon = BitmapFactory.decodeResource(resources, resourceId, options);
+        } catch (OutOfMemoryError exception) {
+            CENNotificationsHelper.Loge("Unable to decode '" + iconName + "' icon.", null);
+        }
+
+        if (icon != null && width > 0 && height > 0 && (icon.getWidth() > width || icon.getHeight() > height)) {
+            float scale = Math.min((float) width / icon.getWidth(), (float) height / icon.getHeight());
+            Bitmap scaledIcon = Bitmap.createScaledBitmap(icon, Math.max(1, Math.round(icon.getWidth() * scale)),
+                    Math.max(1, Math.round(icon.getHeight() * scale)), true);
+            if (scaledIcon != icon)
+                icon.recycle();
+            icon = scaledIcon;
+        }
+
+        return icon;
+    }
+}
@@ -0,0 +1,367 @@
+package com.pubnub.cennotifications.helpers;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+
+import static com.pubnub.cennotifications.helpers.CENNotificationsHelper.Loge;
+
+
+/**
+ * Key/value storage which persist changes by appending records to journal file.
+ * Each record prefixed with it's length and contain operation type, key and value (for 'put' operation). Only keys and
+ * value locations are kept in memory, values read from journal on demand. Journal is compacted (re-written with live
+ * records only) as soon as size of overwritten and removed records exceed size of live records.
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENJournalStorage extends CENStorage {
+
+    private static final byte OPERATION_PUT = 1;
+    private static final byte OPERATION_REMOVE = 2;
+
+    /**
+     * Length of record's fixed part: record length, operation type and key length.
+     */
+    private static final int RECORD_HEADER_LENGTH = 4 + 1 + 2;
+
+    /**
+     * Minimum size of overwritten and removed records after which journal may be compacted.
+     */
+    private static final long COMPACTION_THRESHOLD = 32 * 1024;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Reference on file which is used to store journal.
+     */
+    private final File file;
+
+    /**
+     * Reference on opened journal file.
+     */
+    @Nullable private RandomAccessFile journal;
+
+    /**
+     * Locations of live records (in order in which they has been stored).
+     */
+    private final LinkedHashMap<String, Record> records = new LinkedHashMap<>();
+
+    /**
+     * Size of overwritten and removed records.
+     */
+    private long garbageLength = 0;
+
+    /**
+     * Size of live records.
+     */
+    private long liveLength = 0;
+
+
+    public CENJournalStorage(File file) {
+        this.file = file;
+
+        open();
+    }
+
+    @Override
+    public synchronized List<String> keys() {
+        return new ArrayList<>(records.keySet());
+    }
+
+    @Override
+    public synchronized boolean contains(String key) {
+        return records.containsKey(key);
+    }
+
+    @Nullable
+    @Override
+    public synchronized String get(String key) {
+        Record record = records.get(key);
+
+        if (record != null && journal != null) {
+            try {
+                byte[] value = new byte[record.valueLength];
+                journal.seek(record.valueOffset);
+                journal.readFully(value);
+
+                return new String(value, UTF8);
+            } catch (IOException exception) {
+                Loge("Unable to read value for '" + key + "' from journal.", exception);
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public synchronized void put(String key, String value) {
+        if (append(OPERATION_PUT, key, value.getBytes(UTF8)))
+            compactIfRequired();
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        if (records.containsKey(key) && append(OPERATION_REMOVE, key, new byte[0]))
+            compactIfRequired();
+    }
+
+    @Override
+    public synchronized void clear() {
+        records.clear();
+        garbageLength = 0;
+        liveLength = 0;
+
+        if (journal != null) {
+            try {
+                journal.setLength(0);
+            } catch (IOException exception) {
+                Loge("Unable to truncate journal.", exception);
+            }
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Journal
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Open journal file and restore records locations from it.
+     */
+    private void open() {
+        File directory = file.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs())
+            Loge("Unable to create journal directory.", null);
+
+        if (openJournal() && garbageLength > COMPACTION_THRESHOLD)
+            compact();
+    }
+
+    /**
+     * Open journal file for read / write and restore records locations from it.
+     *
+     * @return 'true' in case if journal has been opened.
+     */
+    private boolean openJournal() {
+        try {
+            journal = new RandomAccessFile(file, "rw");
+            replay();
+
+            return true;
+        } catch (IOException exception) {
+            Loge("Unable to open journal at " + file.getPath(), exception);
+        }
+
+        return false;
+    }
+
+    /**
+     * Read journal records and restore live records locations.
+     * Incomplete trailing record (if process has been killed during write) will be discarded.
+     *
+     * @throws IOException in case of journal read error.
+     */
+    private void replay() throws IOException {
+        long journalLength = journal != null ? journal.length() : 0;
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        long offset = 0;
+        records.clear();
+        garbageLength = 0;
+        liveLength = 0;
+
+        try {
+            while (offset + RECORD_HEADER_LENGTH <= journalLength) {
+                int recordLength = input.readInt();
+                if (recordLength < RECORD_HEADER_LENGTH - 4 || offset + 4 + recordLength > journalLength)
+                    break;
+
+                byte operation = input.readByte();
+                int keyLength = input.readUnsignedShort();
+                int valueLength = recordLength - (RECORD_HEADER_LENGTH - 4) - keyLength;
+                if (valueLength < 0)
+                    break;
+
+                byte[] key = new byte[keyLength];
+                input.readFully(key);
+                skipFully(input, valueLength);
+
+                Record record = new Record(offset, 4 + recordLength, offset + RECORD_HEADER_LENGTH + keyLength,
+                        valueLength);
+                apply(operation, new String(key, UTF8), record);
+                offset += record.length;
+            }
+        } finally {
+            input.close();
+        }
+
+        if (offset < journalLength && journal != null)
+            journal.setLength(offset);
+    }
+
+    /**
+     * Append record to the end of journal.
+     *
+     * @param operation Type of operation which should be stored.
+     * @param key Reference on key for which operation has been done.
+     * @param value Value which should be stored ('put' operation only).
+     * @return 'true' in case if record has been appended to the journal.
+     */
+    private boolean append(byte operation, String key, byte[] value) {
+        if (journal == null)
+            return false;
+
+        byte[] keyBytes = key.getBytes(UTF8);
+        byte[] recordBytes = new byte[RECORD_HEADER_LENGTH + keyBytes.length + value.length];
+        int recordLength = recordBytes.length - 4;
+        recordBytes[0] = (byte) (recordLength >>> 24);
+        recordBytes[1] = (byte) (recordLength >>> 16);
+        recordBytes[2] = (byte) (recordLength >>> 8);
+        recordBytes[3] = (byte) recordLength;
+        recordBytes[4] = operation;
+        recordBytes[5] = (byte) (keyBytes.length >>> 8);
+        recordBytes[6] = (byte) keyBytes.length;
+        System.arraycopy(keyBytes, 0, recordBytes, RECORD_HEADER_LENGTH, keyBytes.length);
+        System.arraycopy(value, 0, recordBytes, RECORD_HEADER_LENGTH + keyBytes.length, value.length);
+
+        try {
+            long offset = journal.length();
+            journal.seek(offset);
+            journal.write(recordBytes);
+            apply(operation, key, new Record(offset, recordBytes.length, offset + RECORD_HEADER_LENGTH + keyBytes.length,
+                    value.length));
+
+            return true;
+        } catch (IOException exception) {
+            Loge("Unable to append record for '" + key + "' to journal.", exception);
+        }
+
+        return false;
+    }
+
+    /**
+     * Update live records locations with information from journal record.
+     *
+     * @param operation Type of operation which has been stored in journal.
+     * @param key Reference on key for which operation has been done.
+     * @param record Location of record in journal.
+     */
+    private void apply(byte operation, String key, Record record) {
+        Record previousRecord = records.remove(key);
+
+        if (previousRecord != null) {
+            garbageLength += previousRecord.length;
+            liveLength -= previousRecord.length;
+        }
+
+        if (operation == OPERATION_PUT) {
+            records.put(key, record);
+            liveLength += record.length;
+        } else
+            garbageLength += record.length;
+    }
+
+    private void compactIfRequired() {
+        if (garbageLength > COMPACTION_THRESHOLD && garbageLength > liveLength)
+            compact();
+    }
+
+    /**
+     * Re-write journal with live records only.
+     */
+    private void compact() {
+        if (journal == null)
+            return;
+
+        File compactedFile = new File(file.getPath() + ".compact");
+        Map<String, Record> compactedRecords = new LinkedHashMap<>();
+
+        try {
+            FileOutputStream fileOutput = new FileOutputStream(compactedFile);
+            OutputStream output = new BufferedOutputStream(fileOutput);
+            long offset = 0;
+
+            try {
+                for (Map.Entry<String, Record> entry : records.entrySet()) {
+                    Record record = entry.getValue();
+                    byte[] recordBytes = new byte[(int) record.length];
+                    journal.seek(record.offset);
+                    journal.readFully(recordBytes);
+                    output.write(recordBytes);
+
+                    compactedRecords.put(entry.getKey(), new Record(offset, record.length,
+                            offset + (record.valueOffset - record.offset), record.valueLength));
+                    offset += record.length;
+                }
+                output.flush();
+                fileOutput.getFD().sync();
+            } finally {
+                output.close();
+            }
+
+            journal.close();
+            journal = null;
+            if (!compactedFile.renameTo(file))
+                throw new IOException("Unable to replace journal with compacted version.");
+
+            records.clear();
+            records.putAll(compactedRecords);
+            garbageLength = 0;
+            journal = new RandomAccessFile(file, "rw");
+        } catch (IOException exception) {
+            Loge("Unable to compact journal.", exception);
+            //noinspection ResultOfMethodCallIgnored
+            compactedFile.delete();
+
+            if (journal == null)
+                openJournal();
+        }
+    }
+
+    private static void skipFully(DataInputStream input, int length) throws IOException {
+        while (length > 0) {
+            int skipped = input.skipBytes(length);
+            if (skipped <= 0)
+                throw new EOFException();
+            length -= skipped;
+        }
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Record
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Location of stored record inside of journal.
+     */
+    private static class Record {
+
+        /**
+         * Offset of record from journal start.
+         */
+        final long offset;
+
+        /**
+         * Full record length (including length prefix).
+         */
+        final long length;
+
+        /**
+         * Offset of stored value from journal start.
+         */
+        final long valueOffset;
+
+        /**
+         * Length of stored value.
+         */
+        final int valueLength;
+
+        Record(long offset, long length, long valueOffset, int valueLength) {
+            this.offset = offset;
+            this.length = length;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Remote notifications processing pipeline metrics.
+ * Each pipeline stage duration recorded into lock-free histogram and pipeline events counted with atomic counters, so
+ * instrumentation doesn't add contention between FCM service, module queue and React Native threads.
+ * Metrics collected per-process (if messaging service configured to run in separate process, it will have own metrics).
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENMetrics {
+
+    /**
+     * Time spent by remote notification in module's queue before processing.
+     */
+    public static final String STAGE_QUEUE = "queue";
+
+    /**
+     * Time spent to parse remote notification payload into model.
+     */
+    public static final String STAGE_PARSE = "parse";
+
+    /**
+     * Time spent to check whether application is in foreground or not.
+     */
+    public static final String STAGE_FOREGROUND_CHECK = "foregroundCheck";
+
+    /**
+     * Time spent to store delivered notification.
+     */
+    public static final String STAGE_PERSISTENCE = "persistence";
+
+    /**
+     * Time spent by notification manager to post notification to notification center.
+     */
+    public static final String STAGE_NOTIFY = "notify";
+
+    /**
+     * Time spent to deliver remote notification event to module instances (includes bridge emit) or other processes.
+     */
+    public static final String STAGE_BROADCAST = "broadcast";
+
+    /**
+     * Time spent to convert event payload and emit it to JS counterpart.
+     */
+    public static final String STAGE_BRIDGE_EMIT = "bridgeEmit";
+
+    /**
+     * Time spent by messaging service from remote notification receive till processing completion.
+     */
+    public static final String STAGE_TOTAL = "total";
+
+    /**
+     * Number of remote notifications received by messaging service.
+     */
+    public static final String COUNTER_RECEIVED = "received";
+
+    /**
+     * Number of received remote notifications which has been sent by Chat Engine.
+     */
+    public static final String COUNTER_CHAT_ENGINE = "chatEngine";
+
+    /**
+     * Number of received remote notifications which has been dropped as duplicates.
+     */
+    public static final String COUNTER_DUPLICATES = "duplicates";
+
+    /**
+     * Number of notifications which has been posted to notification center.
+     */
+    public static final String COUNTER_POSTED = "posted";
+
+    /**
+     * Number of events which has been emitted to JS counterpart.
+     */
+    public static final String COUNTER_EMITTED = "emitted";
+
+    /**
+     * Number of events which has been stored because JS counterpart wasn't ready.
+     */
+    public static final String COUNTER_STORED = "stored";
+
+    /**
+     * Number of remote notifications which hasn't been processed in time by messaging service.
+     */
+    public static final String COUNTER_TIMED_OUT = "timedOut";
+
+    /**
+     * Pipeline stage duration histograms mapped to stage names.
+     * Map populated once, so it can be read without synchronization.
+     */
+    private static final Map<String, Histogram> stages;
+
+    /**
+     * Pipeline event counters mapped to counter names.
+     * Map populated once, so it can be read without synchronization.
+     */
+    private static final Map<String, AtomicLong> counters;
+
+    static {
+        Map<String, Histogram> stageHistograms = new HashMap<>();
+        for (String stage : new String[]{ STAGE_QUEUE, STAGE_PARSE, STAGE_FOREGROUND_CHECK, STAGE_PERSISTENCE,
+                STAGE_NOTIFY, STAGE_BROADCAST, STAGE_BRIDGE_EMIT, STAGE_TOTAL })
+            stageHistograms.put(stage, new Histogram());
+        stages = Collections.unmodifiableMap(stageHistograms);
+
+        Map<String, AtomicLong> eventCounters = new HashMap<>();
+        for (String counter : new String[]{ COUNTER_RECEIVED, COUNTER_CHAT_ENGINE, COUNTER_DUPLICATES, COUNTER_POSTED,
+                COUNTER_EMITTED, COUNTER_STORED, COUNTER_TIMED_OUT })
+            eventCounters.put(counter, new AtomicLong());
+        counters = Collections.unmodifiableMap(eventCounters);
+    }
+
+
+    /**
+     * Retrieve time which should be used as stage start.
+     *
+     * @return Monotonic time in nanoseconds.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record duration of pipeline stage.
+     *
+     * @param stage Name of pipeline stage (one of 'STAGE_*' constants).
+     * @param startTime Time which has been returned by {@link #start()} when stage has been started.
+     */
+    public static void record(String stage, long startTime) {
+        Histogram histogram = stages.get(stage);
+
+        if (histogram != null)
+            histogram.record((System.nanoTime() - startTime) / 1000);
+    }
+
+    /**
+     * Increment pipeline event counter.
+     *
+     * @param counter Name of counter (one of 'COUNTER_*' constants).
+     */
+    public static void increment(String counter) {
+        AtomicLong value = counters.get(counter);
+
+        if (value != null)
+            value.incrementAndGet();
+    }
+
+    /**
+     * Create snapshot of collected metrics.
+     *
+     * @return Map with 'stages' (stage name mapped to 'count' and 'mean', 'p50', 'p90', 'p99', 'max' durations in
+     *         milliseconds) and 'counters' (counter name mapped to value).
+     */
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> stagesSnapshot = new HashMap<>();
+        for (Map.Entry<String, Histogram> entry : stages.entrySet())
+            stagesSnapshot.put(entry.getKey(), entry.getValue().snapshot());
+
+        Map<String, Object> countersSnapshot = new HashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet())
+            countersSnapshot.put(entry.getKey(), (double) entry.getValue().get());
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("stages", stagesSnapshot);
+        snapshot.put("counters", countersSnapshot);
+
+        return snapshot;
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Histogram
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Lock-free log-linear histogram of durations in microseconds.
+     * Each power of two range split into {@link #SUB_BUCKETS} buckets, so recorded values reported with at most 12.5%
+     * error.
+     */
+    private static class Histogram {
+
+        /**
+         * Number of bits which is used to address bucket inside of power of two range.
+         */
+        private static final int SUB_BUCKET_BITS = 3;
+
+        /**
+         * Number of buckets inside of power of two range.
+         */
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        /**
+         * Total number of buckets (enough to store durations up to ~2 hours).
+         */
+        private static final int BUCKETS_COUNT = 256;
+
+        /**
+         * Number of recorded values in each bucket.
+         */
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_COUNT);
+
+        /**
+         * Number of recorded values.
+         */
+        private final AtomicLong count = new AtomicLong();
+
+        /**
+         * Sum of recorded values.
+         */
+        private final AtomicLong sum = new AtomicLong();
+
+        /**
+         * Largest recorded value.
+         */
+        private final AtomicLong max = new AtomicLong();
+
+
+        /**
+         * Record duration.
+         *
+         * @param value Duration in microseconds.
+         */
+        void record(long value) {
+            value = Math.max(0, value);
+
+            buckets.incrementAndGet(bucketIndex(value));
+            count.incrementAndGet();
+            sum.addAndGet(value);
+
+            long currentMax = max.get();
+            while (value > currentMax && !max.compareAndSet(currentMax, value))
+                currentMax = max.get();
+        }
+
+        /**
+         * Create snapshot of recorded durations.
+         * Values recorded concurrently with snapshot creation may be partially accounted.
+         *
+         * @return Map with 'count' and 'mean', 'p50', 'p90', 'p99', 'max' durations in milliseconds.
+         */
+        Map<String, Object> snapshot() {
+            long[] counts = new long[BUCKETS_COUNT];
+            long total = 0;
+            for (int bucketIdx = 0; bucketIdx < BUCKETS_COUNT; bucketIdx++) {
+                counts[bucketIdx] = buckets.get(bucketIdx);
+                total += counts[bucketIdx];
+            }
+
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("count", (double) total);
+            snapshot.put("mean", total > 0 ? sum.get() / (double) total / 1000.0 : 0.0);
+            snapshot.put("p50", percentile(counts, total, 0.5) / 1000.0);
+            snapshot.put("p90", percentile(counts, total, 0.9) / 1000.0);
+            snapshot.put("p99", percentile(counts, total, 0.99) / 1000.0);
+            snapshot.put("max", max.get() / 1000.0);
+
+            return snapshot;
+        }
+
+        /**
+         * Find value below which specified fraction of recorded values fall.
+         *
+         * @param counts Snapshot of bucket counts.
+         * @param total Sum of bucket counts.
+         * @param fraction Fraction of recorded values (0.0 - 1.0).
+         * @return Upper bound of bucket which contain percentile value (in microseconds) or '0' if nothing recorded.
+         */
+        private long percentile(long[] counts, long total, double fraction) {
+            long rank = Math.max(1, (long) Math.ceil(total * fraction));
+            long accumulated = 0;
+
+            for (int bucketIdx = 0; bucketIdx < BUCKETS_COUNT && total > 0; bucketIdx++) {
+                accumulated += counts[bucketIdx];
+                if (accumulated >= rank)
+                    return Math.min(bucketUpperBound(bucketIdx), max.get());
+            }
+
+            return 0;
+        }
+
+        /**
+         * Find index of bucket for value: values below {@link #SUB_BUCKETS} stored in own buckets and rest stored in
+         * one of {@link #SUB_BUCKETS} buckets of their power of two range.
+         */
+        private static int bucketIndex(long value) {
+            if (value < SUB_BUCKETS)
+                return (int) value;
+
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+            return Math.min((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket, BUCKETS_COUNT - 1);
+        }
+
+        /**
+         * Find largest value which can be stored in bucket.
+         */
+        private static long bucketUpperBound(int bucketIdx) {
+            if (bucketIdx < SUB_BUCKETS)
+                return bucketIdx;
+
+            int shift = bucketIdx / SUB_BUCKETS - 1;
+            long lowerBound = (long) (SUB_BUCKETS + bucketIdx % SUB_BUCKETS) << shift;
+
+            return lowerBound + (1L << shift) - 1;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.pubnub.cennotifications.helpers;
 
 import javax.annotation.Nullable;
+import java.io.File;
 import java.io.Serializable;
 import java.util.*;
 
@@ -11,10 +12,10 @@ import android.media.RingtoneManager;
 import android.net.Uri;
 import com.facebook.react.bridge.ReadableMap;
 import com.pubnub.cennotifications.models.CENNotification;
+import com.pubnub.cennotifications.models.CENNotificationPayload;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import android.app.ActivityManager;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.Bundle;
@@ -36,27 +37,25 @@ public class CENNotificationsHelper {
      */
     private static String LOGGER_TAG = "CENNotifications";
 
+    /**
+     * Name of storage which is used to store events which is missed by JS counterpart.
+     */
+    private static final String EVENTS_STORAGE_NAME = "@CENNotifications:events";
+
 
     /////////////////////////////////////////////////////////////////////////////////////////////////
     // Application utility
     /////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Check whether among running module services is application as well.
+     * Check whether application is running in foreground.
+     * State tracked with activity lifecycle callbacks, running processes list used only on cold start.
      *
      * @param context Reference on execution context.
      * @return 'true' in case if application is running in foreground.
      */
     public static boolean isApplicationInForeground(Context context) {
-        ActivityManager manager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
-        List<ActivityManager.RunningAppProcessInfo> processes = manager.getRunningAppProcesses();
-
-        if (processes != null)
-            for (ActivityManager.RunningAppProcessInfo process : processes)
-                if (process.processName.equalsIgnoreCase(context.getPackageName()))
-                    if (process.importance == ActivityManager.RunningAppProcessInfo.IMPORTANCE_FOREGROUND)
-                        return true;
-        return false;
+        return CENForegroundTracker.isApplicationInForeground(context);
     }
 
     /**
@@ -89,11 +88,85 @@ public class CENNotificationsHelper {
     // Key-value storage management
     /////////////////////////////////////////////////////////////////////////////////////////////////
 
+    /**
+     * Reference on factory which is used to create storage for events and delivered notifications.
+     * By default data stored in append-only journal files inside of application's files directory.
+     */
+    private static CENStorageFactory storageFactory = new CENStorageFactory() {
+        @Override
+        public CENStorage storage(Context context, String name) {
+            File directory = new File(context.getFilesDir(), "CENNotifications");
+
+            return new CENJournalStorage(new File(directory, name.replaceAll("[^A-Za-z0-9_-]", "_") + ".journal"));
+        }
+    };
+
+    /**
+     * Storage instances which has been created during process lifetime (mapped to their names).
+     */
+    private static final Map<String, CENStorage> storages = new HashMap<>();
+
+    /**
+     * Set factory which should be used to create storage for events and delivered notifications.
+     * Factory should be set before any notification or event will be processed by module (for example from
+     * Application#onCreate).
+     *
+     * @param factory Reference on object which will be used to create storage instances.
+     */
+    public static void setStorageFactory(CENStorageFactory factory) {
+        storageFactory = factory;
+    }
+
     private static SharedPreferences sharedPreferences(Context context, String name) {
         Context appContext = context.getApplicationContext();
         return appContext.getSharedPreferences(name, Context.MODE_PRIVATE);
     }
 
+    /**
+     * Retrieve reference on storage with specified name.
+     * Data which has been stored by previous module versions in SharedPreferences with same name will be moved to
+     * created storage.
+     *
+     * @param context Reference on execution context.
+     * @param name Unique storage name.
+     * @return Configured and ready to use key/value storage.
+     */
+    static synchronized CENStorage storage(Context context, String name) {
+        CENStorage storage = storages.get(name);
+
+        if (storage == null) {
+            Context appContext = context.getApplicationContext();
+            storage = storageFactory.storage(appContext, name);
+            migrateSharedPreferences(appContext, name, storage);
+            storages.put(name, storage);
+        }
+
+        return storage;
+    }
+
+    /**
+     * Move data which has been stored by previous module versions in SharedPreferences to new storage.
+     *
+     * @param context Reference on execution context.
+     * @param name Name of SharedPreferences which should be migrated.
+     * @param storage Reference on storage into which data should be moved.
+     */
+    private static void migrateSharedPreferences(Context context, String name, CENStorage storage) {
+        SharedPreferences prefs = sharedPreferences(context, name);
+        Map<String, ?> entries = prefs.getAll();
+
+        if (entries.size() > 0) {
+            String[] keys = entries.keySet().toArray(new String[entries.size()]);
+            Arrays.sort(keys, CENSequence.KEYS_ORDER);
+
+            for (String key : keys) {
+                if (entries.get(key) instanceof String)
+                    storage.put(key, (String) entries.get(key));
+            }
+            prefs.edit().clear().commit();
+        }
+    }
+
     /**
      * Reference on storage which is used by module to store it's settings.
      * @param context Reference on execution context.
@@ -108,17 +181,8 @@ public class CENNotificationsHelper {
      * @param context Reference on execution context.
      * @return Configured and ready to use key/value storage to work with emitted events.
      */
-    private static SharedPreferences eventsStorage(Context context) {
-        return sharedPreferences(context, "@CENNotifications:events");
-    }
-
-    /**
-     * Reference on storage which is used to store list of delivered notifications.
-     * @param context Reference on execution context.
-     * @return Configured and ready to use key/value storage to work with delivered notifications.
-     */
-    private static SharedPreferences notificationsStorage(Context context) {
-        return sharedPreferences(context, "@CENNotifications:notifications");
+    private static CENStorage eventsStorage(Context context) {
+        return storage(context, EVENTS_STORAGE_NAME);
     }
 
     /**
@@ -144,6 +208,7 @@ public class CENNotificationsHelper {
 
     /**
      * Retrieve list of previously stored events which wasn't received by JS counterpart.
+     * Events which has been written to persistent storage returned first (they are older than buffered events).
      *
      * @param context Reference on execution context.
      * @return List of hash maps which represent stored event along with data which should be passed.
@@ -151,36 +216,43 @@ public class CENNotificationsHelper {
     @SuppressWarnings("unchecked")
     public static List<Map<String, Object>> storedEvents(Context context) {
         List<Map<String, Object>> events = new ArrayList<>();
-        SharedPreferences prefs = eventsStorage(context);
-        Map<String, ?> eventEntries = prefs.getAll();
-        String[] dates = eventEntries.keySet().toArray(new String[eventEntries.size()]);
-        Arrays.sort(dates);
+        CENStorage storage = eventsStorage(context);
 
-        for (String date : dates) {
-            Map<String, Object> object = (Map<String, Object>) CENSerialization.toObject((String)eventEntries.get(date));
+        for (String key : storage.keys()) {
+            String stringifiedEvent = storage.get(key);
+            Map<String, Object> object = stringifiedEvent != null ?
+                    (Map<String, Object>) CENSerialization.toObject(stringifiedEvent) : null;
 
             if(object != null)
                 events.add(object);
         }
+        events.addAll(CENEventsBuffer.events());
 
         return events;
     }
 
     /**
-     * Store passed object into persistent key/value storage.
+     * Store passed object for JS counterpart.
+     * Event kept in memory while application is in foreground and written to persistent key/value storage when
+     * required.
+     *
      * @param context Reference on execution context.
      * @param event Reference on object which represent event and should be stored in key/value storage.
      */
     public static void storeEvent(Context context, Map<String, Object> event) {
-        long eventDate = (new Date()).getTime() + System.nanoTime();
-        String stringifiedEvent = CENSerialization.toJSONString(event);
+        CENEventsBuffer.add(context, event);
+    }
 
-        if (stringifiedEvent != null) {
-            SharedPreferences.Editor edit = eventsStorage(context).edit();
+    /**
+     * Store passed object into persistent key/value storage.
+     * @param context Reference on execution context.
+     * @param event Reference on object which represent event and should be stored in key/value storage.
+     */
+    static void persistEvent(Context context, Map<String, Object> event) {
+        String stringifiedEvent = CENSerialization.toJSONString(event);
 
-            edit.putString(String.valueOf(eventDate), stringifiedEvent);
-            edit.apply();
-        }
+        if (stringifiedEvent != null)
+            eventsStorage(context).put(CENSequence.nextKey(context, EVENTS_STORAGE_NAME), stringifiedEvent);
     }
 
     /**
@@ -188,9 +260,8 @@ public class CENNotificationsHelper {
      * @param context Reference on execution context.
      */
     public static void clearStoredEvents(Context context) {
-        SharedPreferences.Editor edit = eventsStorage(context).edit();
-        edit.clear();
-        edit.apply();
+        CENEventsBuffer.clear();
+        eventsStorage(context).clear();
     }
 
     /**
@@ -200,51 +271,46 @@ public class CENNotificationsHelper {
      * @param context Reference on execution context.
      * @return List of hash maps which represent delivered notifications along with data which should be passed.
      */
-    @SuppressWarnings("unchecked")
     public static List<Map<String, Object>> deliveredNotifications(Context context) {
-        List<Map<String, Object>> deliveredNotifications = new ArrayList<>();
-        SharedPreferences prefs = notificationsStorage(context);
-        Map<String, ?> notificationEntries = prefs.getAll();
-        String[] dates = notificationEntries.keySet().toArray(new String[notificationEntries.size()]);
-        Arrays.sort(dates);
-
-        for (String date : dates) {
-            Map<String, Object> object = (Map<String, Object>)(CENSerialization.toObject((String) notificationEntries.get(date)));
+        return CENDeliveredNotificationsStore.sharedInstance(context).notifications();
+    }
 
-            if(object != null)
-                deliveredNotifications.add(object);
-        }
+    /**
+     * Retrieve window of notifications which has been delivered to this device (from newest to oldest).
+     *
+     * @param context Reference on execution context.
+     * @param cursor Reference on continuation token which has been returned with previous page or 'null' to start from
+     *               newest notification.
+     * @param limit Maximum number of notifications which should be returned.
+     * @param since Date starting from which (inclusive) notifications should be returned ('0' to return all).
+     * @return Page with requested notifications and continuation token for next page.
+     */
+    public static CENDeliveredNotificationsStore.Page deliveredNotifications(Context context, @Nullable String cursor,
+                                                                             int limit, long since) {
+        return CENDeliveredNotificationsStore.sharedInstance(context).notifications(cursor, limit, since);
+    }
 
-        return deliveredNotifications;
+    /**
+     * Retrieve number of notifications which has been delivered to this device.
+     *
+     * @param context Reference on execution context.
+     * @return Number of stored delivered notifications.
+     */
+    public static int deliveredNotificationsCount(Context context) {
+        return CENDeliveredNotificationsStore.sharedInstance(context).count();
     }
 
     /**
      * Retrieve reference on delivered notification with specific chat engine identifier.
      *
      * @param context Reference on execution context.
-     * @return Reference on notification representation instance or 'null' if notification with specified 'eid' not
-     *         found.
+     * @return Reference on notification data view or 'null' if notification with specified 'eid' not found.
      */
-    @SuppressWarnings("unchecked")
-    public static CENNotification deliveredNotification(Context context, String eid) {
-        List<Map<String, Object>> deliveredNotifications = deliveredNotifications(context);
-        CENNotification notification = null;
-
-        for (Map<String, Object> payload : deliveredNotifications) {
-            CENNotification deliveredNotification = new CENNotification(context, payload);
-            Map<String, Object> cePayload = deliveredNotification.chatEnginePayload();
-
-            if (eid != null && cePayload != null && cePayload.containsKey("eid")) {
-                String deliveredNotificationEID = (String) cePayload.get("eid");
-
-                if (deliveredNotificationEID != null && deliveredNotificationEID.equalsIgnoreCase(eid)) {
-                    notification = deliveredNotification;
-                    break;
-                }
-            }
-        }
+    @Nullable
+    public static CENNotificationPayload deliveredNotification(Context context, String eid) {
+        Map<String, Object> payload = CENDeliveredNotificationsStore.sharedInstance(context).notificationWithEID(eid);
 
-        return notification;
+        return payload != null ? new CENNotificationPayload(payload) : null;
     }
 
     /**
@@ -253,15 +319,7 @@ public class CENNotificationsHelper {
      * @param notification Reference on notification which should be stored in serialized form into persistent storage.
      */
     public static void storeNotification(Context context, CENNotification notification) {
-        long notificationDate = notification.sentTime() > 0 ? notification.sentTime() : (new Date()).getTime();
-        String stringifiedNotification = CENSerialization.toJSONString(notification.toMap());
-
-        if (stringifiedNotification != null) {
-            SharedPreferences.Editor edit = notificationsStorage(context).edit();
-
-            edit.putString(String.valueOf(notificationDate + System.nanoTime()), stringifiedNotification);
-            edit.apply();
-        }
+        CENDeliveredNotificationsStore.sharedInstance(context).store(notification);
     }
 
     /**
@@ -269,21 +327,36 @@ public class CENNotificationsHelper {
      * @param context Reference on execution context.
      */
     public static void removeDeliveredNotification(Context context, CENNotification notification) {
-        SharedPreferences prefs = notificationsStorage(context);
-        Set<String> dates = prefs.getAll().keySet();
-
-        for (String notificationDate : dates) {
-            Map payload = (Map) CENSerialization.toObject(prefs.getString(notificationDate, null));
-            if (payload != null) {
-                CENNotification deliveredNotification = new CENNotification(context, payload);
-                if (deliveredNotification.id() == notification.id()) {
-                    SharedPreferences.Editor edit = prefs.edit();
-                    edit.remove(notificationDate);
-                    edit.apply();
-                    break;
-                }
-            }
-        }
+        removeDeliveredNotification(context, notification.id());
+    }
+
+    /**
+     * Try to remove notification with specified identifier from persistent storage.
+     * @param context Reference on execution context.
+     * @param notificationId Identifier which has been used with notification manager to show notification.
+     */
+    public static void removeDeliveredNotification(Context context, int notificationId) {
+        CENDeliveredNotificationsStore.sharedInstance(context).removeNotificationWithId(notificationId);
+    }
+
+    /**
+     * Retrieve limits which is used to trim list of delivered notifications.
+     *
+     * @param context Reference on execution context.
+     * @return Map with 'maxCount', 'maxBytes' and 'maxAge' (in milliseconds) limits.
+     */
+    public static Map<String, Object> deliveredNotificationsLimits(Context context) {
+        return CENDeliveredNotificationsStore.sharedInstance(context).limits();
+    }
+
+    /**
+     * Update limits which is used to trim list of delivered notifications.
+     *
+     * @param context Reference on execution context.
+     * @param limits Map with 'maxCount', 'maxBytes' and / or 'maxAge' (in milliseconds) limits which should be changed.
+     */
+    public static void setDeliveredNotificationsLimits(Context context, Map limits) {
+        CENDeliveredNotificationsStore.sharedInstance(context).setLimits(limits);
     }
 
     /**
@@ -291,9 +364,148 @@ public class CENNotificationsHelper {
      * @param context Reference on execution context.
      */
     public static void clearDeliveredNotifications(Context context) {
-        SharedPreferences.Editor edit = notificationsStorage(context).edit();
-        edit.clear();
-        edit.apply();
+        CENDeliveredNotificationsStore.sharedInstance(context).clear();
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Notification intents
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Name of intent extra under which reference on delivered notification stored.
+     */
+    private static final String NOTIFICATION_REFERENCE_EXTRA = "notificationReference";
+
+    /**
+     * Name of intent extra under which full notification payload stored by previous module versions.
+     */
+    private static final String NOTIFICATION_PAYLOAD_EXTRA = "notification";
+
+    /**
+     * Store reference on notification in intent which will be sent on user interaction with notification.
+     * Only notification identifiers stored (instead of whole payload), so pending intents stay small. Notification
+     * payload rehydrated from delivered notifications store when user interact with notification.
+     *
+     * @param intent Reference on intent which should be sent on user interaction with notification.
+     * @param notification Reference on notification which has been stored in delivered notifications store.
+     * @param action Reference on name of notification action for which intent has been created.
+     */
+    public static void putNotificationReference(Intent intent, CENNotification notification, @Nullable String action) {
+        putNotificationReference(intent, notification, action, null);
+    }
+
+    /**
+     * Store reference on notification which is shown instead of few merged notifications in intent which will be sent
+     * on user interaction with notification.
+     *
+     * @param intent Reference on intent which should be sent on user interaction with notification.
+     * @param notification Reference on notification which has been stored in delivered notifications store.
+     * @param action Reference on name of notification action for which intent has been created.
+     * @param mergedIds Identifiers of other notifications which is shown by same notification or 'null'.
+     */
+    public static void putNotificationReference(Intent intent, CENNotification notification, @Nullable String action,
+                                                @Nullable int[] mergedIds) {
+        Map<String, Object> cePayload = notification.chatEnginePayload();
+        Object eid = cePayload != null ? cePayload.get("eid") : null;
+
+        Bundle reference = new Bundle();
+        reference.putInt("id", notification.id());
+        if (eid instanceof String)
+            reference.putString("eid", (String) eid);
+        if (action != null)
+            reference.putString("action", action);
+        if (mergedIds != null && mergedIds.length > 0)
+            reference.putIntArray("mergedIds", mergedIds);
+
+        intent.putExtra(NOTIFICATION_REFERENCE_EXTRA, reference);
+    }
+
+    /**
+     * Check whether intent has been sent on user interaction with notification.
+     *
+     * @param intent Reference on received intent.
+     * @return 'true' in case if intent has reference on notification or notification payload.
+     */
+    public static boolean hasNotificationPayload(Intent intent) {
+        return intent.hasExtra(NOTIFICATION_REFERENCE_EXTRA) || intent.hasExtra(NOTIFICATION_PAYLOAD_EXTRA);
+    }
+
+    /**
+     * Retrieve payload of notification with which user interacted.
+     * Notification payload rehydrated from delivered notifications store (or reduced to identifiers from reference if
+     * notification already evicted from store). Intents with full notification payload (created by previous module versions) also
+     * supported.
+     *
+     * @param context Reference on execution context.
+     * @param intent Reference on intent which has been sent on user interaction with notification.
+     * @return Map with 'notification' (notification payload) and 'action' (name of action for which intent has been
+     *         created) or 'null' in case if notification not found.
+     */
+    @Nullable
+    public static Map<String, Object> notificationPayload(Context context, Intent intent) {
+        Bundle reference = intent.getBundleExtra(NOTIFICATION_REFERENCE_EXTRA);
+        if (reference == null) {
+            Bundle payloadBundle = intent.getBundleExtra(NOTIFICATION_PAYLOAD_EXTRA);
+            Map<String, Object> payload = payloadBundle != null ? CENCollections.mapFrom(payloadBundle) : null;
+
+            return payload != null && payload.get("notification") instanceof Map ? payload : null;
+        }
+
+        CENDeliveredNotificationsStore store = CENDeliveredNotificationsStore.sharedInstance(context);
+        String eid = reference.getString("eid");
+        Map<String, Object> notification = store.notificationWithId(reference.getInt("id"));
+        if (notification == null && eid != null)
+            notification = store.notificationWithEID(eid);
+
+        if (notification == null) {
+            Logw("CENNotifications#notificationPayload: notification with " + reference.getInt("id") + " ID not " +
+                    "found. Use reduced notification payload.");
+            notification = referencedNotification(reference);
+        }
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("notification", notification);
+        if (reference.getString("action") != null)
+            payload.put("action", reference.getString("action"));
+
+        return payload;
+    }
+
+    /**
+     * Compose reduced notification payload from reference which has been stored in intent.
+     *
+     * @param reference Reference on bundle with notification's 'id' and 'eid'.
+     * @return Map with notification's 'id' and 'cepayload' which contain only 'eid' (if it has been stored in
+     *         reference).
+     */
+    private static Map<String, Object> referencedNotification(Bundle reference) {
+        Map<String, Object> cePayload = new HashMap<>();
+        if (reference.getString("eid") != null)
+            cePayload.put("eid", reference.getString("eid"));
+
+        Map<String, Object> notification = new HashMap<>();
+        notification.put("id", reference.getInt("id"));
+        notification.put("cepayload", cePayload);
+
+        return notification;
+    }
+
+    /**
+     * Remove from delivered notifications store other notifications which has been shown by same (merged)
+     * notification as notification with which user interacted.
+     *
+     * @param context Reference on execution context.
+     * @param intent Reference on intent which has been sent on user interaction with notification.
+     */
+    public static void removeMergedNotifications(Context context, Intent intent) {
+        Bundle reference = intent.getBundleExtra(NOTIFICATION_REFERENCE_EXTRA);
+        int[] mergedIds = reference != null ? reference.getIntArray("mergedIds") : null;
+
+        if (mergedIds != null) {
+            for (int mergedId : mergedIds)
+                removeDeliveredNotification(context, mergedId);
+        }
     }
 
 
@@ -336,6 +548,8 @@ public class CENNotificationsHelper {
     public static Long getLong(Object value, long defaultValue) {
         if (value instanceof String)
             value = Long.valueOf((String) value);
+        else if (value instanceof Number)
+            value = ((Number) value).longValue();
         if (!(value instanceof Long))
             value = defaultValue;
 
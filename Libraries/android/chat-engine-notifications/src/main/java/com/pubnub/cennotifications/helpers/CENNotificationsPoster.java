@@ -0,0 +1,357 @@
+package com.pubnub.cennotifications.helpers;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.SystemClock;
+import com.pubnub.cennotifications.models.CENNotification;
+
+
+/**
+ * Notifications posting stage which coalesce bursts of notifications with same 'tag' or 'group'.
+ * First notification posted immediately. Notifications which arrive during coalescing window merged into burst and
+ * single trailing update with latest burst state (list of merged messages (InboxStyle) and their count) posted by
+ * delayed flush, which is scheduled once per {@link #MIN_UPDATE_INTERVAL}. Calling task never wait for flush, so
+ * burst of N notifications result in few notification manager calls and other queued tasks not delayed. Merged
+ * notifications stored in delivered notifications store before they reach poster, so if process will be stopped before
+ * trailing update, they still will be reported to JS counterpart.
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENNotificationsPoster {
+
+    /**
+     * Duration (in milliseconds) of window (since last posted update) during which notifications with same key merged
+     * into previously shown notification.
+     */
+    private static final long COALESCING_WINDOW = 1000;
+
+    /**
+     * Minimum interval (in milliseconds) between updates of merged notification (platform drops updates which has been
+     * posted more often than 5 times per second). Also used as delay for trailing update of merged notification.
+     */
+    private static final long MIN_UPDATE_INTERVAL = 250;
+
+    /**
+     * Maximum number of messages which is shown by merged notification.
+     */
+    private static final int MAX_MERGED_LINES = 5;
+
+    /**
+     * Maximum number of merged notification identifiers which is remembered for cancellation (also limits number of
+     * notifications which can be merged into single notification).
+     */
+    private static final int MAX_MERGED_IDENTIFIERS = 100;
+
+    /**
+     * Active bursts mapped to their coalescing keys.
+     */
+    private static final Map<String, Burst> bursts = new HashMap<>();
+
+    /**
+     * Identifiers of notifications which has been shown as part of merged notification mapped to burst which is used
+     * to show it.
+     */
+    private static final Map<Integer, Burst> mergedNotifications = new LinkedHashMap<Integer, Burst>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Burst> eldest) {
+            return size() > MAX_MERGED_IDENTIFIERS;
+        }
+    };
+
+
+    /**
+     * Post notification or merge it with notifications which has been posted during current coalescing window.
+     * Merged notification update posted by delayed flush (scheduled once for all notifications which has been merged
+     * since last update).
+     *
+     * @param context Reference on execution context.
+     * @param notification Reference on notification which should be shown.
+     * @param delivery Reference on notification delivery record which should be marked as posted or 'null'.
+     */
+    public static void post(Context context, CENNotification notification, @Nullable CENDeliveryLatency.Record delivery) {
+        String key = coalescingKey(notification);
+        if (key == null) {
+            show(context, notification.tag(), notification.id(), notification.notification(context), delivery);
+            return;
+        }
+
+        final Context appContext = context.getApplicationContext();
+        boolean merged = false;
+        long delay = -1;
+        final Burst burst;
+
+        synchronized (CENNotificationsPoster.class) {
+            long now = SystemClock.elapsedRealtime();
+            removeExpiredBursts(now);
+            Burst activeBurst = bursts.get(key);
+
+            if (activeBurst == null || activeBurst.ids.size() >= MAX_MERGED_IDENTIFIERS) {
+                activeBurst = new Burst(key, notification);
+                activeBurst.postDate = now;
+                bursts.put(key, activeBurst);
+            } else {
+                activeBurst.add(notification);
+                if (delivery != null)
+                    activeBurst.deliveries.add(delivery);
+                if (!activeBurst.flushScheduled) {
+                    activeBurst.flushScheduled = true;
+                    delay = Math.max(0, activeBurst.postDate + MIN_UPDATE_INTERVAL - now);
+                }
+                merged = true;
+            }
+            mergedNotifications.put(notification.id(), activeBurst);
+            burst = activeBurst;
+        }
+
+        if (!merged)
+            show(context, notification.tag(), notification.id(), notification.notification(context), delivery);
+        else if (delay >= 0) {
+            CENNotificationsQueue.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    flush(appContext, burst);
+                }
+            }, delay);
+        }
+    }
+
+    /**
+     * Post notification immediately (without coalescing).
+     *
+     * @param context Reference on execution context.
+     * @param notification Reference on notification which should be shown.
+     */
+    public static void postImmediately(Context context, CENNotification notification) {
+        show(context, notification.tag(), notification.id(), notification.notification(context), null);
+    }
+
+    /**
+     * Cancel notification with specified identifier.
+     * If notification has been merged into another notification, merged notification will be cancelled.
+     *
+     * @param context Reference on execution context.
+     * @param id Identifier of notification which should be cancelled.
+     * @return Identifiers of other notifications which has been shown by cancelled merged notification.
+     */
+    public static List<Integer> cancel(Context context, int id) {
+        NotificationManager notificationManager = ((NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE));
+        List<Integer> cancelledIds = new ArrayList<>();
+        Burst burst;
+
+        synchronized (CENNotificationsPoster.class) {
+            burst = mergedNotifications.remove(id);
+            if (burst != null) {
+                if (bursts.get(burst.key) == burst)
+                    bursts.remove(burst.key);
+
+                for (Integer mergedId : burst.ids) {
+                    if (mergedId != id && mergedNotifications.get(mergedId) == burst) {
+                        mergedNotifications.remove(mergedId);
+                        cancelledIds.add(mergedId);
+                    }
+                }
+            }
+        }
+
+        if (notificationManager != null) {
+            if (burst != null)
+                notificationManager.cancel(burst.tag, burst.id);
+            notificationManager.cancel(id);
+        }
+
+        return cancelledIds;
+    }
+
+    /**
+     * Forget about all active bursts.
+     */
+    public static synchronized void clear() {
+        bursts.clear();
+        mergedNotifications.clear();
+    }
+
+    /**
+     * Post latest merged notifications state for burst.
+     *
+     * @param context Reference on execution context.
+     * @param burst Reference on burst for which merged notification should be posted.
+     */
+    private static void flush(Context context, Burst burst) {
+        List<CENDeliveryLatency.Record> deliveries;
+        CENNotification notification;
+        List<CharSequence> lines;
+        int[] mergedIds;
+        int count;
+
+        synchronized (CENNotificationsPoster.class) {
+            burst.flushScheduled = false;
+            if (bursts.get(burst.key) != burst)
+                return;
+
+            notification = burst.latestNotification;
+            lines = new ArrayList<>(burst.lines);
+            count = burst.count;
+            mergedIds = new int[burst.ids.size() - 1];
+            for (int idIdx = 0; idIdx < mergedIds.length; idIdx++)
+                mergedIds[idIdx] = burst.ids.get(idIdx);
+            deliveries = new ArrayList<>(burst.deliveries);
+            burst.deliveries.clear();
+            burst.postDate = SystemClock.elapsedRealtime();
+        }
+
+        Notification.InboxStyle style = new Notification.InboxStyle();
+        for (CharSequence line : lines)
+            style.addLine(line);
+        if (count > lines.size())
+            style.setSummaryText("+" + (count - lines.size()));
+
+        // Merged notification intents reference all shown notifications, so they will be removed from delivered
+        // notifications store on user interaction.
+        Notification.Builder builder = notification.builder(context, mergedIds)
+                .setStyle(style)
+                .setNumber(count)
+                .setOnlyAlertOnce(true);
+
+        show(context, burst.tag, burst.id, notification.notification(builder), null);
+        for (CENDeliveryLatency.Record delivery : deliveries)
+            delivery.posted();
+    }
+
+    /**
+     * Post notification to notification center and record time spent by notification manager.
+     *
+     * @param context Reference on execution context.
+     * @param tag Tag which should be used with notification manager or 'null'.
+     * @param id Identifier which should be used with notification manager.
+     * @param notification Reference on notification which should be posted.
+     * @param delivery Reference on notification delivery record which should be marked as posted or 'null'.
+     */
+    private static void show(Context context, @Nullable String tag, int id, Notification notification,
+                             @Nullable CENDeliveryLatency.Record delivery) {
+        NotificationManager notificationManager = ((NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE));
+        if (notificationManager == null)
+            return;
+
+        long notifyStart = CENMetrics.start();
+        if (tag != null)
+            notificationManager.notify(tag, id, notification);
+        else
+            notificationManager.notify(id, notification);
+        CENMetrics.record(CENMetrics.STAGE_NOTIFY, notifyStart);
+        CENMetrics.increment(CENMetrics.COUNTER_POSTED);
+
+        if (delivery != null)
+            delivery.posted();
+    }
+
+    /**
+     * Remove bursts which didn't received new notifications during coalescing window (and doesn't wait for update).
+     *
+     * @param now Current time (milliseconds since boot).
+     */
+    private static void removeExpiredBursts(long now) {
+        Iterator<Burst> iterator = bursts.values().iterator();
+
+        while (iterator.hasNext()) {
+            Burst burst = iterator.next();
+            if (!burst.flushScheduled && now - burst.postDate >= COALESCING_WINDOW)
+                iterator.remove();
+        }
+    }
+
+    @Nullable
+    private static String coalescingKey(CENNotification notification) {
+        if (notification.tag() != null)
+            return "tag:" + notification.tag();
+        else if (notification.group() != null)
+            return "group:" + notification.group();
+
+        return null;
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Burst
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Notifications which has been received during coalescing window.
+     */
+    private static class Burst {
+
+        /**
+         * Coalescing key ('tag' or 'group') for which burst has been created.
+         */
+        final String key;
+
+        /**
+         * Tag of notification which is shown for this burst.
+         */
+        @Nullable final String tag;
+
+        /**
+         * Identifier of notification which is shown for this burst.
+         */
+        final int id;
+
+        /**
+         * Messages of merged notifications (newest last).
+         */
+        final LinkedList<CharSequence> lines = new LinkedList<>();
+
+        /**
+         * Identifiers of merged notifications (latest last).
+         */
+        final List<Integer> ids = new ArrayList<>();
+
+        /**
+         * Delivery records of merged notifications which will be posted with next update.
+         */
+        final List<CENDeliveryLatency.Record> deliveries = new ArrayList<>();
+
+        /**
+         * Overall number of merged notifications.
+         */
+        int count = 0;
+
+        /**
+         * Whether delayed update has been scheduled for burst or not.
+         */
+        boolean flushScheduled = false;
+
+        /**
+         * Reference on latest notification which has been added to burst.
+         */
+        CENNotification latestNotification;
+
+        /**
+         * Time (milliseconds since boot) when notification for this burst has been posted last time.
+         */
+        long postDate;
+
+        Burst(String key, CENNotification notification) {
+            this.key = key;
+            this.tag = notification.tag();
+            this.id = notification.id();
+
+            add(notification);
+        }
+
+        void add(CENNotification notification) {
+            CharSequence line = notification.contentText();
+            if (tag == null && notification.contentTitle() != null)
+                line = notification.contentTitle() + ": " + line;
+
+            lines.addLast(line);
+            if (lines.size() > MAX_MERGED_LINES)
+                lines.removeFirst();
+
+            ids.add(notification.id());
+            latestNotification = notification;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.concurrent.*;
+
+import android.content.BroadcastReceiver;
+import android.os.Handler;
+import android.os.Looper;
+
+
+/**
+ * Background queue which is used by module to process notifications and events.
+ * Queue use single worker thread with bounded tasks queue, so tasks executed in same order in which they has been
+ * scheduled (for example notification delete always processed after notification has been stored). When queue is
+ * full (push storm or large re-schedule backlog) background callers (like FCM service thread) wait for free space, so
+ * order is preserved and producers slowed down instead of growing queue latency without bound. Main thread callers
+ * (broadcast receivers which keep broadcast active with 'goAsync') and worker thread can't wait, so their task
+ * executed on calling thread (before tasks which is still waiting in queue).
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENNotificationsQueue {
+
+    /**
+     * How long (in seconds) worker thread can stay idle before it will be stopped.
+     */
+    private static final long KEEP_ALIVE_TIME = 30;
+
+    /**
+     * Maximum number of tasks which can wait for execution on worker thread.
+     */
+    private static final int MAX_QUEUED_TASKS = 128;
+
+    /**
+     * Reference on executor which is used to process tasks on worker thread.
+     */
+    private static final ThreadPoolExecutor executor = createExecutor();
+
+    /**
+     * Reference on worker thread (if it is running).
+     */
+    private static volatile Thread workerThread;
+
+    /**
+     * Reference on handler which is used to delay tasks scheduling.
+     */
+    private static final Handler timer = new Handler(Looper.getMainLooper());
+
+
+    /**
+     * Schedule task execution on worker thread.
+     *
+     * @param task Reference on task which should be executed.
+     */
+    public static void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Schedule task execution on worker thread after specified delay.
+     *
+     * @param task Reference on task which should be executed.
+     * @param delay Delay (in milliseconds) after which task should be scheduled for execution.
+     */
+    public static void schedule(final Runnable task, long delay) {
+        timer.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                execute(task);
+            }
+        }, delay);
+    }
+
+    /**
+     * Schedule task execution on worker thread for passed broadcast receiver.
+     * Broadcast will be kept active ('goAsync') till task completion.
+     *
+     * @param receiver Reference on receiver which is currently handling broadcast.
+     * @param task Reference on task which should be executed.
+     */
+    public static void execute(BroadcastReceiver receiver, final Runnable task) {
+        final BroadcastReceiver.PendingResult pendingResult = receiver.goAsync();
+
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } finally {
+                    if (pendingResult != null)
+                        pendingResult.finish();
+                }
+            }
+        });
+    }
+
+    /**
+     * Execute task on worker thread and wait for it's completion.
+     * Should be used by callers which already run on background thread, but should keep order with other scheduled
+     * tasks.
+     *
+     * @param task Reference on task which should be executed.
+     * @param timeout Maximum time (in milliseconds) which caller can wait for task completion.
+     * @return 'false' in case if task didn't completed in time.
+     */
+    public static boolean executeAndWait(Runnable task, long timeout) {
+        if (Thread.currentThread() == workerThread) {
+            task.run();
+            return true;
+        }
+
+        FutureTask<Void> futureTask = new FutureTask<>(task, null);
+        execute(futureTask);
+
+        try {
+            futureTask.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            CENNotificationsHelper.Logw("Task didn't completed in " + timeout + "ms.");
+            return false;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            CENNotificationsHelper.Loge("Task execution did fail.", exception.getCause());
+        }
+
+        return true;
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadFactory threadFactory = new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        workerThread = Thread.currentThread();
+                        runnable.run();
+                    }
+                }, "CENNotifications");
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        };
+        RejectedExecutionHandler overflowHandler = new RejectedExecutionHandler() {
+            @Override
+            public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                Thread thread = Thread.currentThread();
+
+                if (thread != workerThread && thread != Looper.getMainLooper().getThread()) {
+                    try {
+                        executor.getQueue().put(task);
+                        return;
+                    } catch (InterruptedException exception) {
+                        thread.interrupt();
+                    }
+                }
+
+                CENNotificationsHelper.Logw("Tasks queue is full. Execute task on calling thread.");
+                task.run();
+            }
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(MAX_QUEUED_TASKS), threadFactory, overflowHandler);
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+}
@@ -0,0 +1,119 @@
+package com.pubnub.cennotifications.helpers;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import android.content.Context;
+
+
+/**
+ * Bounded persistent set of recently processed remote notification identifiers.
+ * Set is used to drop remote notifications which FCM delivered more than once (identified by 'google.message_id')
+ * and Chat Engine events which has been sent with more than one notification (identified by 'eid'). Identifiers
+ * remembered only after notification has been processed, so notification which failed processing can be delivered
+ * again. Least recently seen identifiers evicted when set reach it's capacity.
+ * Each change persisted right away as separate storage record (cheap journal append, journal compacted by storage
+ * itself), so identifiers not lost if process will be killed right after notification has been processed.
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENRecentMessages {
+
+    /**
+     * Name of storage which is used to persist recently seen identifiers.
+     */
+    private static final String STORAGE_NAME = "@CENNotifications:recentMessages";
+
+    /**
+     * Maximum number of identifiers which is kept in set.
+     */
+    private static final int CAPACITY = 500;
+
+    /**
+     * Recently seen identifiers from least to most recently seen ('null' until loaded from storage).
+     */
+    private static Set<String> recentKeys = null;
+
+
+    /**
+     * Check whether remote notification with specified identifier has been processed before.
+     *
+     * @param context Reference on execution context.
+     * @param messageId Unique FCM message identifier ('google.message_id').
+     * @return 'true' in case if message with same identifier has been processed recently.
+     */
+    public static boolean isDuplicateMessage(Context context, @Nullable String messageId) {
+        return messageId != null && messageId.length() > 0 && contains(context, messageKey(messageId));
+    }
+
+    /**
+     * Check whether notification for Chat Engine event with specified identifier has been processed before.
+     *
+     * @param context Reference on execution context.
+     * @param eid Unique Chat Engine event identifier.
+     * @return 'true' in case if notification for same event has been processed recently.
+     */
+    public static boolean isDuplicateEvent(Context context, @Nullable String eid) {
+        return eid != null && eid.length() > 0 && contains(context, eventKey(eid));
+    }
+
+    /**
+     * Remember identifiers of notification which has been processed (received from FCM or shown without receiving it
+     * from FCM, for example re-scheduled after device restart), so it won't be shown again if FCM will deliver it.
+     *
+     * @param context Reference on execution context.
+     * @param messageId Unique FCM message identifier ('google.message_id').
+     * @param eid Unique Chat Engine event identifier.
+     */
+    public static synchronized void remember(Context context, @Nullable String messageId, @Nullable String eid) {
+        CENStorage storage = CENNotificationsHelper.storage(context, STORAGE_NAME);
+        Set<String> keys = recentKeys(context);
+
+        if (messageId != null && messageId.length() > 0)
+            add(storage, keys, messageKey(messageId));
+        if (eid != null && eid.length() > 0)
+            add(storage, keys, eventKey(eid));
+    }
+
+    private static synchronized boolean contains(Context context, String key) {
+        return recentKeys(context).contains(key);
+    }
+
+    /**
+     * Mark key as most recently seen and persist change.
+     */
+    private static void add(CENStorage storage, Set<String> keys, String key) {
+        keys.remove(key);
+        keys.add(key);
+        storage.put(key, "");
+
+        Iterator<String> iterator = keys.iterator();
+        while (keys.size() > CAPACITY && iterator.hasNext()) {
+            storage.remove(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Retrieve recently seen keys (load them from storage if required).
+     */
+    private static Set<String> recentKeys(Context context) {
+        if (recentKeys == null) {
+            List<String> keys = CENNotificationsHelper.storage(context, STORAGE_NAME).keys();
+
+            recentKeys = new LinkedHashSet<>(keys.subList(Math.max(0, keys.size() - CAPACITY), keys.size()));
+        }
+
+        return recentKeys;
+    }
+
+    private static String messageKey(String messageId) {
+        return "id:" + messageId;
+    }
+
+    private static String eventKey(String eid) {
+        return "eid:" + eid.toLowerCase();
+    }
+}
@@ -0,0 +1,115 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+
+/**
+ * Persistent monotonic sequence which is used to create storage keys.
+ * Keys zero-padded to fixed length, so their string representation keep insertion order. To avoid settings write for
+ * each key, sequence values reserved in blocks (unused values from reserved block skipped after process restart).
+ */
+@SuppressWarnings("WeakerAccess")
+public class CENSequence {
+
+    /**
+     * Number of sequence values which is reserved with single settings write.
+     */
+    private static final int RESERVATION_BLOCK_SIZE = 100;
+
+    /**
+     * Length of zero-padded key (enough to fit any positive long value).
+     */
+    private static final int KEY_LENGTH = 19;
+
+    /**
+     * Storage keys order: numeric keys compared by their value (shorter keys created by previous module versions
+     * considered older), rest compared lexicographically.
+     */
+    public static final Comparator<String> KEYS_ORDER = new Comparator<String>() {
+        @Override
+        public int compare(String key1, String key2) {
+            if (key1.length() != key2.length())
+                return key1.length() < key2.length() ? -1 : 1;
+
+            return key1.compareTo(key2);
+        }
+    };
+
+    /**
+     * Created sequences mapped to their names.
+     */
+    private static final Map<String, CENSequence> sequences = new HashMap<>();
+
+    /**
+     * Reference on storage which is used to store sequence reservations.
+     */
+    private final SharedPreferences settings;
+
+    /**
+     * Key under which sequence reservation stored in settings storage.
+     */
+    private final String reservationKey;
+
+    /**
+     * Next sequence value.
+     */
+    private long nextValue;
+
+    /**
+     * Value starting from which sequence values not reserved.
+     */
+    private long reservedValue;
+
+
+    /**
+     * Retrieve next storage key for sequence with specified name.
+     *
+     * @param context Reference on execution context.
+     * @param name Name of sequence (usually name of storage for which key is created).
+     * @return Zero-padded sequence value.
+     */
+    public static String nextKey(Context context, String name) {
+        CENSequence sequence;
+
+        synchronized (sequences) {
+            sequence = sequences.get(name);
+            if (sequence == null) {
+                sequence = new CENSequence(CENNotificationsHelper.settingsStorage(context), name);
+                sequences.put(name, sequence);
+            }
+        }
+
+        return sequence.nextKey();
+    }
+
+    private CENSequence(SharedPreferences settings, String name) {
+        this.settings = settings;
+        this.reservationKey = "@CENNotifications:sequence:" + name;
+        this.nextValue = settings.getLong(reservationKey, 0);
+        this.reservedValue = nextValue;
+    }
+
+    /**
+     * Retrieve next zero-padded sequence value.
+     *
+     * @return Zero-padded sequence value.
+     */
+    private synchronized String nextKey() {
+        if (nextValue >= reservedValue) {
+            reservedValue = nextValue + RESERVATION_BLOCK_SIZE;
+            settings.edit().putLong(reservationKey, reservedValue).commit();
+        }
+
+        String value = String.valueOf(nextValue++);
+        StringBuilder key = new StringBuilder(KEY_LENGTH);
+        for (int paddingIdx = value.length(); paddingIdx < KEY_LENGTH; paddingIdx++)
+            key.append('0');
+
+        return key.append(value).toString();
+    }
+}
@@ -1,6 +1,10 @@
 package com.pubnub.cennotifications.helpers;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -8,6 +12,7 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import android.os.Bundle;
+import android.util.JsonReader;
 
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
@@ -47,81 +52,140 @@ public class CENSerialization {
         return null;
     }
 
+    /**
+     * De-serialize passed JSON string to collection object.
+     *
+     * @param json Reference on JSON string which should be de-serialized.
+     * @return HashMap or ArrayList for passed JSON string or 'null' in case if it doesn't represent collection.
+     */
     @Nullable
     public static Object toObject(String json) {
         return toObject(json, true);
     }
 
+    /**
+     * De-serialize passed JSON string to collection object.
+     * String is parsed in single pass straight into HashMap / ArrayList with boxed primitives. Strings which doesn't
+     * start with object or array opening token rejected without parsing.
+     *
+     * @param json Reference on JSON string which should be de-serialized.
+     * @param logException Whether de-serialization error should be logged out.
+     * @return HashMap or ArrayList for passed JSON string or 'null' in case if it doesn't represent collection.
+     */
     @Nullable
     public static Object toObject(String json, Boolean logException) {
-        Object object = toJSONObject(json, logException);
-        if (object != null)
-            return CENCollections.mapFrom(object);
-
-        object = toJSONArray(json, logException);
-        if (object != null)
-            return CENCollections.listFrom(object);
-        else if (logException)
+        char token = firstSignificantCharacter(json);
+
+        if (token == '{' || token == '[') {
+            JsonReader reader = new JsonReader(new StringReader(json));
+            reader.setLenient(true);
+
+            try {
+                return readValue(reader);
+            } catch (IOException | IllegalStateException | NumberFormatException exception) {
+                if (logException)
+                    Loge("Unable to de-serialize passed JSON string to object.", exception);
+            } finally {
+                try {
+                    reader.close();
+                } catch (IOException ignored) {}
+            }
+        } else if (logException)
             Loge("Unable to de-serialize passed JSON string to object.", null);
 
         return null;
     }
 
     /**
-     * Convert passed JSON string to JSONObject instance.
+     * Retrieve first non-whitespace character from passed string.
      *
-     * @param json Reference on object representation JSON string.
-     * @return JSONObject instance for passed JSON string or 'null' in case of de-serialization failure.
+     * @param string Reference on string which should be checked.
+     * @return First non-whitespace character or '\0' in case if there is no such character.
      */
-    @Nullable
-    private static JSONObject toJSONObject(String json) {
-        return toJSONObject(json, true);
+    private static char firstSignificantCharacter(@Nullable String string) {
+        if (string != null) {
+            for (int charIdx = 0; charIdx < string.length(); charIdx++) {
+                char character = string.charAt(charIdx);
+
+                if (!Character.isWhitespace(character))
+                    return character;
+            }
+        }
+
+        return '\0';
     }
 
     /**
-     * Convert passed JSON string to JSONObject instance.
+     * Read next value from JSON reader.
+     * 'null' values kept in arrays (so element positions preserved) and objects (so key presence preserved).
      *
-     * @param json Reference on object representation JSON string.
-     * @param logException Whether conversion error should be logged out.
-     * @return JSONObject instance for passed JSON string or 'null' in case of de-serialization failure.
+     * @param reader Reference on reader from which value should be read.
+     * @return Value which has been read.
+     * @throws IOException in case if JSON string is malformed.
      */
     @Nullable
-    private static JSONObject toJSONObject(String json, Boolean logException) {
-        try {
-            return new JSONObject(json);
-        } catch (Exception exception) {
-            if (logException)
-                Loge("Unable to convert JSON string to JSONObject", exception);
-            return null;
+    private static Object readValue(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                Map<String, Object> map = new HashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String key = reader.nextName();
+
+                    map.put(key, readValue(reader));
+                }
+                reader.endObject();
+
+                return map;
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext())
+                    list.add(readValue(reader));
+                reader.endArray();
+
+                return list;
+            case STRING:
+                return reader.nextString();
+            case NUMBER:
+                return numberFrom(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                reader.skipValue();
+                return null;
         }
     }
 
     /**
-     * Convert passed JSON string to JSONArray instance.
+     * Convert number's string representation to boxed primitive.
+     * Same as JSONObject, integral values represented with Integer (or Long if doesn't fit) and rest with Double.
+     * Integral values which doesn't fit into Long represented with Double.
      *
-     * @param json Reference on array representation JSON string.
-     * @return JSONArray instance for passed JSON string or 'null' in case of de-serialization failure.
+     * @param number Reference on number string representation.
+     * @return Integer, Long or Double for passed number.
      */
-    @Nullable
-    static JSONArray toJSONArray(String json) {
-        return toJSONArray(json, true);
-    }
+    private static Number numberFrom(String number) {
+        boolean integral = number.length() > 0;
 
-    /**
-     * Convert passed JSON string to JSONArray instance.
-     *
-     * @param json Reference on array representation JSON string.
-     * @param logException Whether conversion error should be logged out.
-     * @return JSONArray instance for passed JSON string or 'null' in case of de-serialization failure.
-     */
-    @Nullable
-    static JSONArray toJSONArray(String json, Boolean logException) {
-        try {
-            return new JSONArray(json);
-        } catch (Exception exception) {
-            if (logException)
-                Loge("Unable to convert JSON string to JSONArray", exception);
-            return null;
+        for (int charIdx = 0; charIdx < number.length() && integral; charIdx++) {
+            char character = number.charAt(charIdx);
+            integral = (character >= '0' && character <= '9') || (charIdx == 0 && character == '-' && number.length() > 1);
         }
+
+        if (integral) {
+            try {
+                long value = Long.parseLong(number);
+
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE)
+                    return (int) value;
+                return value;
+            } catch (NumberFormatException ignored) {}
+        }
+
+        return Double.parseDouble(number);
     }
 }
@@ -0,0 +1,55 @@
+package com.pubnub.cennotifications.helpers;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+
+/**
+ * Key/value storage which is used by module to persist events and notifications.
+ */
+public abstract class CENStorage {
+
+    /**
+     * Retrieve list of keys for which values has been stored.
+     *
+     * @return List of keys in order in which values has been stored.
+     */
+    public abstract List<String> keys();
+
+    /**
+     * Check whether storage contain value for specified key or not.
+     *
+     * @param key Reference on key for which check should be done.
+     * @return 'true' in case if value for specified key has been stored.
+     */
+    public abstract boolean contains(String key);
+
+    /**
+     * Retrieve value which has been stored under specified key.
+     *
+     * @param key Reference on key which should be used to access value.
+     * @return Stored value or 'null' in case if there is no value for specified key.
+     */
+    @Nullable
+    public abstract String get(String key);
+
+    /**
+     * Store value under specified key.
+     *
+     * @param key Reference on key under which value should be stored.
+     * @param value Reference on value which should be stored.
+     */
+    public abstract void put(String key, String value);
+
+    /**
+     * Remove value which has been stored under specified key.
+     *
+     * @param key Reference on key for which value should be removed.
+     */
+    public abstract void remove(String key);
+
+    /**
+     * Remove all stored values.
+     */
+    public abstract void clear();
+}
@@ -0,0 +1,18 @@
+package com.pubnub.cennotifications.helpers;
+
+import android.content.Context;
+
+
+public abstract class CENStorageFactory {
+
+    /**
+     * Function which should be used to create storage instance which will be used by module to persist data. Function
+     * will be called only once per storage name during process lifetime.
+     *
+     * @param context Reference on application context.
+     * @param name Unique name of storage which is requested by module (same name used to migrate data which has been
+     *             stored with SharedPreferences by previous module versions).
+     * @return Configured and ready to use storage.
+     */
+    public abstract CENStorage storage(Context context, String name);
+}
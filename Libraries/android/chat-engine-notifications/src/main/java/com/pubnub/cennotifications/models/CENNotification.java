@@ -4,17 +4,16 @@ import android.app.Notification;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
-import android.content.pm.ApplicationInfo;
-import android.content.pm.PackageManager;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Color;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import com.google.firebase.messaging.RemoteMessage;
+import com.pubnub.cennotifications.helpers.CENApplicationDefaults;
 import com.pubnub.cennotifications.helpers.CENCollections;
+import com.pubnub.cennotifications.helpers.CENIconsCache;
 import com.pubnub.cennotifications.helpers.CENNotificationsHelper;
 import com.pubnub.cennotifications.helpers.CENSerialization;
 import com.pubnub.cennotifications.modules.CENNotificationsBroadcastListener;
@@ -73,10 +72,10 @@ public class CENNotification extends Notification {
     private static final String VISIBILITY_SECRET = "VISIBILITY_SECRET";
 
     /**
-     * Reference on list of keys which is known for decoding.
-     * Unknown keys will be added as notification extra fields.
+     * Reference on generator which is used to assign notification identifiers.
+     * Shared generator is used, so notifications created within same millisecond won't get same identifier.
      */
-    private List<String> knownKeys;
+    private static final Random identifiersGenerator = new Random();
 
     // addAction (int icon, CharSequence title, PendingIntent intent) - before API 20 (after addAction (Notification.Action action))
     private List actions;
@@ -156,13 +155,6 @@ public class CENNotification extends Notification {
     }
 
     public CENNotification(Context context, Object payload, @Nullable String sender) {
-        String[] knownKeys = new String[] { "actions", "person", "autoCancel", "badgeIconType", "category", "channelId",
-                "chronometerCountDown", "color", "colorized", "contentText", "contentTitle", "defaults", "group",
-                "groupAlertBehavior", "groupSummary", "largeIcon", "lights", "localOnly", "number", "ongoing",
-                "onlyAlertOnce", "priority", "progress", "settingsText", "showWhen", "smallIcon", "sortKey", "sound",
-                "subText", "ticker", "timeoutAfter", "usesChronometer", "vibrate", "visibility", "when", "tag", "link"
-        };
-        this.knownKeys = new ArrayList<>(Arrays.asList(knownKeys));
         setDefaults(context);
 
         if (payload != null) {
@@ -178,13 +170,22 @@ public class CENNotification extends Notification {
             throw new NullPointerException("Attempted to pass null to CENNotification constructor.");
         }
         // Parse rest of notification information which has been sent under 'data' key.
-        parseNotificationData(context.getApplicationContext().getPackageName(),
-                context.getApplicationContext().getResources(), this.payload);
+        parseNotificationData(context, this.payload);
         setDefaultTitle(context);
     }
 
     public Notification notification(Context context) {
-        Notification notification = builder(context).build();
+        return notification(builder(context));
+    }
+
+    /**
+     * Build notification using pre-configured builder (created with {@link #builder(Context)}).
+     *
+     * @param builder Reference on notification builder which may contain additional configuration (like style).
+     * @return Notification which can be posted with notification manager.
+     */
+    public Notification notification(Notification.Builder builder) {
+        Notification notification = builder.build();
         if (extras() != null && extras().size() > 0 && Build.VERSION.SDK_INT == Build.VERSION_CODES.KITKAT) {
             Bundle extrasBundle = CENCollections.bundleFrom(extras());
             if (extrasBundle != null)
@@ -195,6 +196,17 @@ public class CENNotification extends Notification {
     }
 
     public Notification.Builder builder(Context context) {
+        return builder(context, null);
+    }
+
+    /**
+     * Create notification builder for notification which is shown instead of few merged notifications.
+     *
+     * @param context Reference on context of execution.
+     * @param mergedIds Identifiers of other notifications which is shown by this notification or 'null'.
+     * @return Builder which can be used to customize and build notification.
+     */
+    public Notification.Builder builder(Context context, @Nullable int[] mergedIds) {
         Notification.Builder builder = new Notification.Builder(context)
                 .setContentTitle(contentTitle())
                 .setContentText(contentText())
@@ -202,7 +214,7 @@ public class CENNotification extends Notification {
                 .setOngoing(ongoing())
                 .setAutoCancel(autoCancel())
                 .setPriority(priority())
-                .setLargeIcon(largeIcon())
+                .setLargeIcon(largeIcon() != null ? largeIcon() : CENIconsCache.largeIcon(context, largeIconName()))
                 .setSmallIcon(smallIcon())
                 .setSound(sound())
                 .setSubText(subText())
@@ -271,7 +283,7 @@ public class CENNotification extends Notification {
                 builder.setGroupSummary(groupSummary());
         }
 
-        addHandlers(context, builder);
+        addHandlers(context, builder, mergedIds);
 
         return builder;
     }
@@ -407,10 +419,8 @@ public class CENNotification extends Notification {
         CENCollections.putToMap(map, "link", link());
         CENCollections.putToMap(map, "actions", actions);
 
-        if (extras() != null && extras().size() > 0) {
-            for (String key : extras().keySet())
-                CENCollections.putToMap(map, key, CENCollections.getFromMap(extras(), key, null));
-        }
+        if (extras() != null && extras().size() > 0)
+            map.putAll(extras());
 
 
         return map;
@@ -425,8 +435,9 @@ public class CENNotification extends Notification {
      * @param sender Name of message sender (available for legacy message listener (GCM)).
      */
     private void parseFromBundle(Context context, Bundle payload, @Nullable String sender) {
-        String packageName = context.getApplicationContext().getPackageName();
-        Resources resources = context.getApplicationContext().getResources();
+        CENApplicationDefaults applicationDefaults = CENApplicationDefaults.sharedInstance(context);
+        String packageName = applicationDefaults.packageName;
+        Resources resources = applicationDefaults.resources;
 
         Bundle notification = payload.getBundle("notification");
         if (notification != null) {
@@ -464,8 +475,9 @@ public class CENNotification extends Notification {
      *                configuration.
      */
     private void parseFromRemoteMessage(Context context, RemoteMessage payload) {
-        String packageName = context.getApplicationContext().getPackageName();
-        Resources resources = context.getApplicationContext().getResources();
+        CENApplicationDefaults applicationDefaults = CENApplicationDefaults.sharedInstance(context);
+        String packageName = applicationDefaults.packageName;
+        Resources resources = applicationDefaults.resources;
         RemoteMessage.Notification notification = payload.getNotification();
 
         if (notification != null) {
@@ -477,7 +489,7 @@ public class CENNotification extends Notification {
                 color(Color.parseColor(notification.getColor()));
 
             if (notification.getIcon() != null) {
-                int smallIconResourceId = resources.getIdentifier(notification.getIcon(), "mipmap", packageName);
+                int smallIconResourceId = applicationDefaults.iconResourceId(notification.getIcon());
                 if (smallIconResourceId != 0)
                     smallIcon(smallIconResourceId);
             }
@@ -506,126 +518,213 @@ public class CENNotification extends Notification {
 
     /**
      * De-serialize notification object from 'data' notification container.
+     * Each key passed to it's field setter in single pass. Keys which is not related to notification layout stored as
+     * notification extra fields.
      *
-     * @param packageName Name of application package for which code is running.
-     * @param resources Reference on object which provide access to package's resources.
+     * @param context Reference on code execution context.
      * @param data Reference on object which store data notification data.
      */
-    private void parseNotificationData(String packageName, Resources resources, Map data) {
-
-        badge(CENNotificationsHelper.getInteger(data.get("badge"), badge()));
-        autoCancel(CENNotificationsHelper.getBoolean(data.get("autoCancel"), autoCancel()));
-        contentText((String) CENCollections.getFromMap(data, "contentText", contentText()));
-        contentTitle((String) CENCollections.getFromMap(data, "contentTitle", contentTitle()));
-        if (data.containsKey("click_action"))
-            clickAction(packageName + '.' + data.get("click_action"));
-        if (data.containsKey("actions"))
-            actions = CENCollections.listFrom(data.get("actions"));
-
-        if (data.containsKey("defaults")) {
-            Object defaultsValues = data.get("defaults");
-            if (defaultsValues != null && defaultsValues instanceof List) {
-                for (Object defaultsValue : (List) defaultsValues) {
-                    defaults |= (Integer) defaultsValue;
-                }
-            }
-        }
-        id(CENNotificationsHelper.getInteger(data.get("id"), id()));
+    private void parseNotificationData(Context context, Map data) {
+        CENApplicationDefaults applicationDefaults = CENApplicationDefaults.sharedInstance(context);
+        Map<String, Object> extraData = new HashMap<>();
 
-        Bitmap largeIconBitmap = bitmapForIcon(packageName, resources, (String) data.get("largeIcon"));
-        if (largeIconBitmap != null) {
-            largeIconName((String) data.get("largeIcon"));
-            largeIcon(largeIconBitmap);
-        }
+        for (Object dataEntry : data.entrySet()) {
+            String key = (String) ((Map.Entry) dataEntry).getKey();
+            Object value = ((Map.Entry) dataEntry).getValue();
 
-        if (data.containsKey("lights")) {
-            Object lightsList = CENSerialization.toObject((String) data.get("lights"));
-            if (lightsList != null && lightsList instanceof List && ((List)lightsList).size() == 3) {
-                int[] lights = CENNotificationsHelper.getIntArray(lightsList, new int[]{});
-                if (lights.length > 0)
-                    lights(lights);
-            }
+            // Explicit 'null' in de-serialized payload handled same way as missing field.
+            if (value != null && !parseNotificationField(applicationDefaults, key, value))
+                CENCollections.putToMap(extraData, key, value);
         }
-        number(CENNotificationsHelper.getInteger(data.get("number"), number()));
-        ongoing(CENNotificationsHelper.getBoolean(data.get("ongoing"), ongoing()));
-        onlyAlertOnce(CENNotificationsHelper.getBoolean(data.get("onlyAlertOnce"), onlyAlertOnce()));
+        extras(extraData);
+    }
 
-        if (data.containsKey("priority")) {
-            priority(CENNotificationsHelper.getInteger(data.get("priority"), Notification.PRIORITY_HIGH));
-        }
-        if (data.containsKey("progress")) {
-            Object progressList = CENSerialization.toObject((String) data.get("progress"));
-            if (progressList != null && progressList instanceof List && ((List)progressList).size() == 3) {
-                int[] progress = CENNotificationsHelper.getIntArray(progressList, new int[]{});
-                if (progress.length > 0)
+    /**
+     * De-serialize notification field from 'data' notification container.
+     *
+     * @param applicationDefaults Reference on application information which is used for resources lookup.
+     * @param key Reference on name of field.
+     * @param value Reference on field value.
+     * @return 'true' in case if field is related to notification layout, 'false' if it should be stored in notification
+     *         extra fields.
+     */
+    private boolean parseNotificationField(CENApplicationDefaults applicationDefaults, String key, Object value) {
+        switch (key) {
+            case "actions":
+                actions = CENCollections.listFrom(value);
+                break;
+            case "autoCancel":
+                autoCancel(CENNotificationsHelper.getBoolean(value, autoCancel()));
+                break;
+            case "badgeIconType":
+                badgeIconType(CENNotificationsHelper.getInteger(value, -1));
+                break;
+            case "category":
+                category((String) value);
+                break;
+            case "channelId":
+                channelId((String) value);
+                break;
+            case "chronometerCountDown":
+                chronometerCountDown(CENNotificationsHelper.getBoolean(value, chronometerCountDown()));
+                break;
+            case "color":
+                color(CENNotificationsHelper.getInteger(value, 0));
+                break;
+            case "colorized":
+                colorized(CENNotificationsHelper.getBoolean(value, colorized()));
+                break;
+            case "contentText":
+                contentText((String) value);
+                break;
+            case "contentTitle":
+                contentTitle((String) value);
+                break;
+            case "defaults":
+                if (value instanceof List) {
+                    for (Object defaultsValue : (List) value)
+                        defaults |= CENNotificationsHelper.getInteger(defaultsValue, 0);
+                }
+                break;
+            case "group":
+                group((String) value);
+                break;
+            case "groupAlertBehavior":
+                groupAlertBehavior(CENNotificationsHelper.getInteger(value, -1));
+                break;
+            case "groupSummary":
+                groupSummary(CENNotificationsHelper.getBoolean(value, groupSummary()));
+                break;
+            case "largeIcon":
+                // Large icon bitmap will be loaded on demand when notification will be built.
+                if (applicationDefaults.iconResourceId((String) value) != 0)
+                    largeIconName((String) value);
+                break;
+            case "lights":
+                int[] lights = intTripletFrom(value);
+                if (lights != null)
+                    lights(lights);
+                break;
+            case "link":
+                link(Uri.parse((String) value));
+                break;
+            case "localOnly":
+                localOnly(CENNotificationsHelper.getBoolean(value, localOnly()));
+                break;
+            case "number":
+                number(CENNotificationsHelper.getInteger(value, number()));
+                break;
+            case "ongoing":
+                ongoing(CENNotificationsHelper.getBoolean(value, ongoing()));
+                break;
+            case "onlyAlertOnce":
+                onlyAlertOnce(CENNotificationsHelper.getBoolean(value, onlyAlertOnce()));
+                break;
+            case "person":
+                person((String) value);
+                break;
+            case "priority":
+                priority(CENNotificationsHelper.getInteger(value, Notification.PRIORITY_HIGH));
+                break;
+            case "progress":
+                int[] progress = intTripletFrom(value);
+                if (progress != null)
                     progress(progress);
-            }
-        }
-
-        showWhen(CENNotificationsHelper.getBoolean(data.get("showWhen"), showWhen()));
-
-        if (data.containsKey("smallIcon")) {
-            smallIconName((String) data.get("smallIcon"));
-            int smallIconResourceId = iconResourceId(packageName, resources, (String) data.get("smallIcon"));
-            if (smallIconResourceId != 0)
-                smallIcon(smallIconResourceId);
+                break;
+            case "settingsText":
+                settingsText((String) value);
+                break;
+            case "showWhen":
+                showWhen(CENNotificationsHelper.getBoolean(value, showWhen()));
+                break;
+            case "smallIcon":
+                smallIconName((String) value);
+                int smallIconResourceId = applicationDefaults.iconResourceId((String) value);
+                if (smallIconResourceId != 0)
+                    smallIcon(smallIconResourceId);
+                break;
+            case "sortKey":
+                sortKey((String) value);
+                break;
+            case "sound":
+                sound(CENNotificationsHelper.soundUri(applicationDefaults.packageName, applicationDefaults.resources,
+                        (String) value));
+                break;
+            case "subText":
+                subText((String) value);
+                break;
+            case "tag":
+                tag((String) value);
+                break;
+            case "ticker":
+                ticker((String) value);
+                break;
+            case "timeoutAfter":
+                timeoutAfter(CENNotificationsHelper.getInteger(value, timeoutAfter()));
+                break;
+            case "usesChronometer":
+                usesChronometer(CENNotificationsHelper.getBoolean(value, usesChronometer()));
+                break;
+            case "vibrate":
+                if (value instanceof List)
+                    vibrate(CENNotificationsHelper.getLongArray(value, new long[]{}));
+                break;
+            case "visibility":
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
+                    visibility(CENNotificationsHelper.getInteger(value, Notification.VISIBILITY_PRIVATE));
+                break;
+            case "when":
+                when(CENNotificationsHelper.getLong(value, when()));
+                break;
+
+            // Fields below used by notification, but also kept in extra fields.
+            case "badge":
+                badge(CENNotificationsHelper.getInteger(value, badge()));
+                return false;
+            case "click_action":
+                clickAction(applicationDefaults.packageName + '.' + value);
+                return false;
+            case "id":
+                id(CENNotificationsHelper.getInteger(value, id()));
+                return false;
+            case "google.message_id":
+                googleNotificationId((String) value);
+                return false;
+            case "google.sent_time":
+                sentTime(CENNotificationsHelper.getLong(value, sentTime()));
+                return false;
+            case "from":
+                sender((String) value);
+                return false;
+            case "collapse_key":
+                collapseKey((String) value);
+                return false;
+            case "ttl":
+                ttl(CENNotificationsHelper.getLong(value, ttl()));
+                return false;
+            default:
+                return false;
         }
 
-        if (data.containsKey("sound"))
-            sound(CENNotificationsHelper.soundUri(packageName, resources, (String) data.get("sound")));
-        subText((String) CENCollections.getFromMap(data, "subText", subText()));
-        ticker((String) CENCollections.getFromMap(data, "ticker", ticker()));
-        usesChronometer(CENNotificationsHelper.getBoolean(data.get("usesChronometer"), usesChronometer()));
-
-        if (data.containsKey("vibrate")) {
-            Object vibrateList = data.get("vibrate");
-            if (vibrateList != null && vibrateList instanceof List) {
-                long[] vibrate = CENNotificationsHelper.getLongArray(vibrateList, new long[]{});
-                vibrate(vibrate);
-            }
-        }
+        return true;
+    }
 
-        when(CENNotificationsHelper.getLong(data.get("when"), when()));
-        if (data.containsKey("link"))
-            link(Uri.parse((String) data.get("link")));
-        tag((String) CENCollections.getFromMap(data, "tag", tag()));
-        sortKey((String) CENCollections.getFromMap(data, "sortKey", sortKey()));
-        group((String) CENCollections.getFromMap(data, "group", group()));
-        groupSummary(CENNotificationsHelper.getBoolean(data.get("groupSummary"), groupSummary()));
-        localOnly(CENNotificationsHelper.getBoolean(data.get("localOnly"), localOnly()));
-        if (data.containsKey("person"))
-            person((String) data.get("person"));
-        if (data.containsKey("color"))
-            color(CENNotificationsHelper.getInteger(data.get("color"), 0));
-        if (data.containsKey("category"))
-            category((String) data.get("category"));
-        if (data.containsKey("visibility") && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
-            visibility(CENNotificationsHelper.getInteger(data.get("visibility"), Notification.VISIBILITY_PRIVATE));
-        chronometerCountDown(CENNotificationsHelper.getBoolean(data.get("chronometerCountDown"), chronometerCountDown()));
-        if (data.containsKey("badgeIconType")) {
-            badgeIconType(CENNotificationsHelper.getInteger(data.get("badgeIconType"), -1));
-        }
-        channelId((String) CENCollections.getFromMap(data, "channelId", channelId()));
-        colorized(CENNotificationsHelper.getBoolean(data.get("colorized"), colorized()));
-        if (data.containsKey("groupAlertBehavior")) {
-            groupAlertBehavior(CENNotificationsHelper.getInteger(data.get("groupAlertBehavior"), -1));
+    /**
+     * Retrieve three integers (color/on/off for lights or max/progress/indeterminate for progress) from field value.
+     *
+     * @param value Reference on field value (List or it's JSON string representation).
+     * @return Array with three integers or 'null' in case if value can't be used.
+     */
+    @Nullable
+    private static int[] intTripletFrom(Object value) {
+        Object list = value instanceof String ? CENSerialization.toObject((String) value) : value;
+        if (list instanceof List && ((List) list).size() == 3) {
+            int[] triplet = CENNotificationsHelper.getIntArray(list, new int[]{});
+            if (triplet.length == 3)
+                return triplet;
         }
-        settingsText((String) CENCollections.getFromMap(data, "settingsText", settingsText()));
-        timeoutAfter(CENNotificationsHelper.getInteger(data.get("timeoutAfter"), timeoutAfter()));
-
-        googleNotificationId((String) CENCollections.getFromMap(data, "google.message_id", googleNotificationId()));
-        sentTime((long) CENCollections.getFromMap(data, "google.sent_time", sentTime()));
-        sender((String) CENCollections.getFromMap(data, "from", sender()));
-        collapseKey((String) CENCollections.getFromMap(data, "collapse_key", collapseKey()));
 
-
-        Map<String, Object> extraData = new HashMap<>();
-        for (Object key: data.keySet()) {
-            if (!knownKeys.contains((String) key))
-                CENCollections.putToMap(extraData, (String) key,
-                        CENCollections.getFromMap(data, (String) key, null));
-        }
-        extras(extraData);
+        return null;
     }
 
     /**
@@ -633,20 +732,18 @@ public class CENNotification extends Notification {
      *
      * @param context Reference on context of execution.
      * @param builder Reference on currently active notification instance builder.
+     * @param mergedIds Identifiers of other notifications which is shown by this notification or 'null'.
      */
-    private void addHandlers(Context context, Notification.Builder builder) {
+    private void addHandlers(Context context, Notification.Builder builder, @Nullable int[] mergedIds) {
         if (canBeShown()) {
             Class activityAction = activityClass(context);
             if (activityAction != null) {
                 String packageName = context.getApplicationContext().getPackageName();
-                Map<String, Object> payload = new HashMap<>();
-                payload.put("userInteraction", true);
-                payload.put("foreground", false);
-                payload.put("notification", toMap());
 
+                // Intents carry only reference on notification, payload will be taken from delivered notifications store.
                 Intent intent = new Intent(context, activityAction);
                 intent.addFlags(Intent.FLAG_ACTIVITY_SINGLE_TOP);
-                intent.putExtra("notification", CENCollections.bundleFrom(payload));
+                CENNotificationsHelper.putNotificationReference(intent, this, null, mergedIds);
 
                 PendingIntent pendingIntent = PendingIntent.getActivity(context, id(), intent,
                         PendingIntent.FLAG_UPDATE_CURRENT);
@@ -654,13 +751,9 @@ public class CENNotification extends Notification {
 
                 if (actions != null && actions.size() > 0) {
                     for (Object action : actions) {
-                        Map<String, Object> actionPayload = new HashMap<>();
-                        actionPayload.putAll(payload);
-                        actionPayload.put("action", action);
-
                         Intent actionIntent = new Intent();
                         actionIntent.setAction(packageName + "." + action);
-                        actionIntent.putExtra("notification", CENCollections.bundleFrom(actionPayload));
+                        CENNotificationsHelper.putNotificationReference(actionIntent, this, (String) action, mergedIds);
 
                         PendingIntent pendingActionIntent = PendingIntent.getBroadcast(context, id(), actionIntent,
                                 PendingIntent.FLAG_UPDATE_CURRENT);
@@ -670,7 +763,7 @@ public class CENNotification extends Notification {
 
                 Intent deleteIntent = new Intent(context, CENNotificationsBroadcastListener.class);
                 deleteIntent.setAction("com.pubnub.cennotifications.NOTIFICATION_DELETED");
-                deleteIntent.putExtra("notification", CENCollections.bundleFrom(payload));
+                CENNotificationsHelper.putNotificationReference(deleteIntent, this, null, mergedIds);
                 PendingIntent pendingDeleteIntent = PendingIntent.getBroadcast(context, id(), deleteIntent,
                         PendingIntent.FLAG_UPDATE_CURRENT);
                 builder.setDeleteIntent(pendingDeleteIntent);
@@ -697,28 +790,6 @@ public class CENNotification extends Notification {
         return activityAction != null ? activityAction : CENNotificationsHelper.launcherActivity(context);
     }
 
-    private Integer anyIconResourceId(String packageName, Resources resources, String[] resourceNames) {
-        for (String resourceName : resourceNames) {
-            Integer resourceId = resources.getIdentifier(resourceName, "mipmap", packageName);
-            if (resourceId != 0)
-                return resourceId;
-        }
-        return 0;
-    }
-
-    private Integer iconResourceId(String packageName, Resources resources, String resourceName) {
-        return resourceName != null ? resources.getIdentifier(resourceName, "mipmap", packageName) : 0;
-    }
-
-    @Nullable
-    private Bitmap bitmapForIcon(String packageName, Resources resources, String iconName) {
-        Integer resourceId = iconResourceId(packageName, resources, iconName);
-        if (resourceId != 0) {
-            return BitmapFactory.decodeResource(resources, resourceId);
-        }
-        return null;
-    }
-
     /**
      * Populate notification properties with default values which is available (AndroidManifest) or pre-defined by this
      * module.
@@ -726,39 +797,24 @@ public class CENNotification extends Notification {
      * @param context Reference on code execution context.
      */
     private void setDefaults(Context context) {
-        String packageName = context.getApplicationContext().getPackageName();
-        Resources resources = context.getApplicationContext().getResources();
+        CENApplicationDefaults defaults = CENApplicationDefaults.sharedInstance(context);
 
-        Random random = new Random(System.currentTimeMillis());
-        id(random.nextInt());
+        id(identifiersGenerator.nextInt());
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
             visibility(Notification.VISIBILITY_PUBLIC);
         }
 
-        try {
-            PackageManager packageManager = context.getApplicationContext().getPackageManager();
-            ApplicationInfo applicationInfo = packageManager.getApplicationInfo(packageName, PackageManager.GET_META_DATA);
-
-            // Check and use default notification channel from AndroidManifest file.
-            if (applicationInfo.metaData.containsKey("com.google.firebase.messaging.default_notification_channel_id")) {
-                channelId(applicationInfo.metaData.getString("com.google.firebase.messaging.default_notification_channel_id"));
-            }
-            // Check and use default notification icon from AndroidManifest file.
-            if (applicationInfo.metaData.containsKey("com.google.firebase.messaging.default_notification_icon")) {
-                smallIcon(applicationInfo.metaData.getInt("com.google.firebase.messaging.default_notification_icon"));
-            }
-            // Check and use default notification icon color from AndroidManifest file.
-            if (applicationInfo.metaData.containsKey("com.google.firebase.messaging.default_notification_color")) {
-                color(applicationInfo.metaData.getInt("com.google.firebase.messaging.default_notification_icon"));
-            }
-        } catch (Exception exception) {
-            CENNotificationsHelper.Loge("Unable to get application information", exception);
-        }
+        // Default notification channel, icon and icon color from AndroidManifest file.
+        if (defaults.channelId != null)
+            channelId(defaults.channelId);
+        if (defaults.metaDataSmallIcon != 0)
+            smallIcon(defaults.metaDataSmallIcon);
+        if (defaults.color != null)
+            color(defaults.color);
 
         if (smallIcon() == 0)
-            smallIcon(anyIconResourceId(packageName, resources, new String[]{ "ic_notification", "ic_launcher" }));
-        smallIconName(resources.getResourceEntryName(smallIcon()));
-        largeIcon(bitmapForIcon(packageName, resources, "ic_launcher"));
+            smallIcon(defaults.smallIcon);
+        smallIconName(defaults.smallIconName);
         largeIconName("ic_launcher");
     }
 
@@ -768,10 +824,8 @@ public class CENNotification extends Notification {
      * @param context Reference on code execution context.
      */
     private void setDefaultTitle(Context context) {
-        if (contentTitle() == null) {
-            PackageManager packageManager = context.getApplicationContext().getPackageManager();
-            contentTitle(packageManager.getApplicationLabel(context.getApplicationInfo()).toString());
-        }
+        if (contentTitle() == null)
+            contentTitle(CENApplicationDefaults.sharedInstance(context).applicationLabel);
     }
 
     /**
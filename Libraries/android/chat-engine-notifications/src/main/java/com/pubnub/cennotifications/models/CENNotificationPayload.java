@@ -0,0 +1,239 @@
+package com.pubnub.cennotifications.models;
+
+import android.os.Bundle;
+import com.google.firebase.messaging.RemoteMessage;
+import com.pubnub.cennotifications.helpers.CENCollections;
+import com.pubnub.cennotifications.helpers.CENNotificationsHelper;
+import com.pubnub.cennotifications.helpers.CENSerialization;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Lightweight view on raw remote notification data.
+ * Provide access to notification identity and Chat Engine payload without layout fields parsing, resources resolution
+ * and icons decoding which is done by {@link CENNotification}.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class CENNotificationPayload {
+
+    /**
+     * Reference on notification data in form of Map.
+     */
+    @Nullable private final Map payload;
+
+    /**
+     * Reference on notification data in form of Bundle.
+     */
+    @Nullable private final Bundle bundle;
+
+    /**
+     * Reference on data object which has been passed with notification from Chat Engine.
+     */
+    @Nullable private Map<String, Object> chatEnginePayload;
+
+    /**
+     * Whether Chat Engine data object has been extracted from notification data or not.
+     */
+    private boolean chatEnginePayloadParsed = false;
+
+
+    /**
+     * Create view on raw notification data.
+     *
+     * @param payload Reference on notification data (Map, Bundle or RemoteMessage).
+     */
+    public CENNotificationPayload(@Nullable Object payload) {
+        if (payload instanceof RemoteMessage)
+            payload = remoteMessageData((RemoteMessage) payload);
+
+        this.payload = payload instanceof Map ? (Map) payload : null;
+        this.bundle = payload instanceof Bundle ? (Bundle) payload : null;
+    }
+
+    /**
+     * Check whether notification data contain notification identifier or not.
+     *
+     * @return 'true' in case if identifier has been stored in notification data.
+     */
+    public boolean hasId() {
+        return value("id") != null;
+    }
+
+    /**
+     * Retrieve notification identifier which has been used with notification manager.
+     *
+     * @return Notification identifier or '0' if it is not part of notification data.
+     */
+    public int id() {
+        return CENNotificationsHelper.getInteger(value("id"), 0);
+    }
+
+    /**
+     * Retrieve date when notification has been sent.
+     *
+     * @return Notification send date (in milliseconds) or '0' if it is not part of notification data.
+     */
+    public long sentTime() {
+        return CENNotificationsHelper.getLong(value("google.sent_time"), 0);
+    }
+
+    /**
+     * Retrieve application icon badge number which has been passed with notification.
+     *
+     * @return Badge number or '-1' if it is not part of notification data.
+     */
+    public int badge() {
+        Object badge = value("badge");
+        if (badge == null) {
+            // Legacy (GCM) notifications may pass badge number with 'notification' object.
+            Object notification = value("notification");
+            if (notification instanceof Bundle)
+                badge = CENCollections.getFromBundle((Bundle) notification, "badge");
+            else if (notification instanceof Map)
+                badge = ((Map) notification).get("badge");
+        }
+
+        return CENNotificationsHelper.getInteger(badge, -1);
+    }
+
+    /**
+     * Retrieve identifier of notification channel which has been passed with notification.
+     *
+     * @return Reference on notification channel identifier or 'null' if it is not part of notification data.
+     */
+    @Nullable
+    public String channelId() {
+        Object channelId = value("channelId");
+
+        return channelId instanceof String ? (String) channelId : null;
+    }
+
+    /**
+     * Retrieve reference on data object which has been passed with notification from Chat Engine.
+     *
+     * @return Chat Engine data object or 'null' in case if notification has been sent not by Chat Engine.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public Map<String, Object> chatEnginePayload() {
+        if (!chatEnginePayloadParsed) {
+            Object cePayload = value("cepayload");
+            if (cePayload instanceof String)
+                cePayload = CENSerialization.toObject((String) cePayload);
+            else if (cePayload instanceof Bundle)
+                cePayload = CENCollections.mapFrom(cePayload);
+
+            chatEnginePayload = cePayload instanceof Map ? (Map<String, Object>) cePayload : null;
+            chatEnginePayloadParsed = true;
+        }
+
+        return chatEnginePayload;
+    }
+
+    /**
+     * Retrieve Chat Engine event with which this notification message has been created.
+     *
+     * @return Reference on name of event for which notification has been created.
+     */
+    @Nullable
+    public String chatEngineEvent() {
+        Map<String, Object> chatEnginePayload = chatEnginePayload();
+        Object event = chatEnginePayload != null ? chatEnginePayload.get("event") : null;
+
+        return event instanceof String ? (String) event : null;
+    }
+
+    /**
+     * Retrieve reference on notification's category which has been set by Chat Engine basing on triggered event name.
+     *
+     * @return Reference on Chat Engine notification category name or 'null' if it is not part of notification data.
+     */
+    @Nullable
+    public String chatEngineNotificationCategory() {
+        Map<String, Object> chatEnginePayload = chatEnginePayload();
+        Object category = chatEnginePayload != null ? chatEnginePayload.get("category") : null;
+
+        return category instanceof String ? (String) category : null;
+    }
+
+    /**
+     * Retrieve unique FCM message identifier with which notification has been delivered.
+     *
+     * @return Reference on 'google.message_id' or 'null' if it is not part of notification data.
+     */
+    @Nullable
+    public String messageId() {
+        Object messageId = value("google.message_id");
+
+        return messageId instanceof String ? (String) messageId : null;
+    }
+
+    /**
+     * Retrieve unique identifier of Chat Engine event for which notification has been sent.
+     *
+     * @return Reference on event identifier or 'null' if it is not part of notification data.
+     */
+    @Nullable
+    public String eventId() {
+        Map<String, Object> chatEnginePayload = chatEnginePayload();
+        Object eid = chatEnginePayload != null ? chatEnginePayload.get("eid") : null;
+
+        return eid instanceof String ? (String) eid : null;
+    }
+
+    /**
+     * Retrieve identifier of Chat Engine event which has been seen by user (sent with '$notifications.seen' event).
+     *
+     * @return Reference on seen event identifier or 'null' if it is not part of notification data.
+     */
+    @Nullable
+    public String eid() {
+        Map<String, Object> chatEnginePayload = chatEnginePayload();
+        Object data = chatEnginePayload != null ? chatEnginePayload.get("data") : null;
+        Object eid = data instanceof Map ? ((Map) data).get("eid") : null;
+
+        return eid instanceof String ? (String) eid : null;
+    }
+
+    /**
+     * Retrieve remote notification data along with message information and notification layout which has been passed
+     * with FCM notification message.
+     *
+     * @param message Reference on remote notification which has been received from FCM.
+     * @return Map with notification data.
+     */
+    private static Map<String, Object> remoteMessageData(RemoteMessage message) {
+        Map<String, Object> data = new HashMap<String, Object>(message.getData());
+        RemoteMessage.Notification notification = message.getNotification();
+
+        if (message.getMessageId() != null)
+            data.put("google.message_id", message.getMessageId());
+        if (message.getSentTime() > 0)
+            data.put("google.sent_time", message.getSentTime());
+        if (message.getFrom() != null)
+            data.put("from", message.getFrom());
+        if (notification != null && notification.getTitle() != null && !data.containsKey("contentTitle"))
+            data.put("contentTitle", notification.getTitle());
+        if (notification != null && notification.getBody() != null && !data.containsKey("contentText"))
+            data.put("contentText", notification.getBody());
+
+        return data;
+    }
+
+    /**
+     * Retrieve value stored in notification data.
+     *
+     * @param key Reference on key under which value has been stored.
+     * @return Reference on stored value or 'null' if there is no value for specified key.
+     */
+    @Nullable
+    private Object value(String key) {
+        if (payload != null)
+            return payload.get(key);
+
+        return bundle != null ? CENCollections.getFromBundle(bundle, key) : null;
+    }
+}
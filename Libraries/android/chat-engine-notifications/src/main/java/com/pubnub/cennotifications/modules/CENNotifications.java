@@ -1,22 +1,34 @@
 package com.pubnub.cennotifications.modules;
 
 import android.app.Activity;
+import android.app.Notification;
 import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
+import android.os.Build;
 import android.os.Bundle;
 
 import com.facebook.react.bridge.*;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
+import com.google.firebase.messaging.RemoteMessage;
+import com.pubnub.cennotifications.helpers.CENApplicationDefaults;
+import com.pubnub.cennotifications.helpers.CENBadgeController;
 import com.pubnub.cennotifications.helpers.CENCollections;
+import com.pubnub.cennotifications.helpers.CENDeliveredNotificationsStore;
+import com.pubnub.cennotifications.helpers.CENDeliveryLatency;
+import com.pubnub.cennotifications.helpers.CENForegroundTracker;
+import com.pubnub.cennotifications.helpers.CENMetrics;
 import com.pubnub.cennotifications.helpers.CENNotificationsHelper;
+import com.pubnub.cennotifications.helpers.CENNotificationsPoster;
+import com.pubnub.cennotifications.helpers.CENNotificationsQueue;
+import com.pubnub.cennotifications.helpers.CENRecentMessages;
 import com.pubnub.cennotifications.models.CENNotification;
+import com.pubnub.cennotifications.models.CENNotificationPayload;
 import com.pubnub.cennotifications.models.CENNotificationChannel;
 import com.pubnub.cennotifications.models.CENNotificationsFormatter;
-import me.leolin.shortcutbadger.ShortcutBadger;
 
 import javax.annotation.Nullable;
 import java.util.*;
@@ -27,6 +39,7 @@ public class CENNotifications extends ReactContextBaseJavaModule {
 
     final private static String BROADCAST_RECEIVED_REMOTE_NOTIFICATION = "CENReceivedRemoteNotification";
     final private static String JS_RECEIVED_REMOTE_NOTIFICATION = "CENReceivedRemoteNotification";
+    final private static String JS_RECEIVED_REMOTE_NOTIFICATIONS = "CENReceivedRemoteNotifications";
     final private static String BROADCAST_REMOTE_NOTIFICATION_REMOVED = "CENRemovedRemoteNotification";
     final private static String JS_REMOVED_REMOTE_NOTIFICATION = "CENRemovedRemoteNotification";
     final private static String BROADCAST_DID_REGISTER_DEVICE = "CENRegisteredForRemoteNotifications";
@@ -35,6 +48,18 @@ public class CENNotifications extends ReactContextBaseJavaModule {
     final private static String CHAT_ENGINE_SEEN_EVENT = "$notifications.seen";
     final private static String NOTIFICATION_DEFAULT_EVENT = "com.pubnub.cennotifications.default-event";
 
+    /**
+     * Default maximum number of notifications which is sent with single batched missed events replay event.
+     */
+    final private static int MISSED_EVENTS_CHUNK_SIZE = 50;
+
+    /**
+     * Maximum number of delivered notifications which will be re-posted after device restart.
+     */
+    final private static int RESCHEDULED_NOTIFICATIONS_LIMIT = 10;
+    final private static String RESCHEDULED_NOTIFICATIONS_GROUP = "com.pubnub.cennotifications.rescheduled";
+    final private static String RESCHEDULED_NOTIFICATIONS_SUMMARY_TAG = "com.pubnub.cennotifications.rescheduled-summary";
+
     /**
      * Stores reference on callback which is used by native module to pre-format published message.
      */
@@ -45,6 +70,12 @@ public class CENNotifications extends ReactContextBaseJavaModule {
      */
     private static boolean listenerIsReady = false;
 
+    /**
+     * Stores references on module instances which is able to receive events in this process.
+     */
+    private static final Set<CENNotifications> liveModules =
+            Collections.newSetFromMap(new WeakHashMap<CENNotifications, Boolean>());
+
     /**
      * Stores reference on device's registration token.
      */
@@ -62,6 +93,19 @@ public class CENNotifications extends ReactContextBaseJavaModule {
 
         // Subscribe on events from Firebase notifications listener service.
         registerForEvents();
+        CENForegroundTracker.install(reactContext);
+        synchronized (liveModules) {
+            liveModules.add(this);
+        }
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        super.onCatalystInstanceDestroy();
+
+        synchronized (liveModules) {
+            liveModules.remove(this);
+        }
     }
 
     /**
@@ -125,15 +169,15 @@ public class CENNotifications extends ReactContextBaseJavaModule {
     }
 
     /**
-     * Placeholder function which can't be used in a way as iOS allow to. Caller will receive default value which is set
-     * to -1.
+     * Retrieve application's icon badge number which has been set by module last time. Caller will receive -1 in case
+     * if badge number never has been set.
      *
      * @param callback Reference on function which is used by React Native to return calling code requested data.
      */
     @ReactMethod
     public void applicationIconBadgeNumber(Callback callback) {
         CENNotificationsHelper.Logi("CENNotifications#applicationIconBadgeNumber");
-        callback.invoke(-1);
+        callback.invoke(CENBadgeController.badgeNumber(getReactApplicationContext()));
     }
 
     /**
@@ -145,7 +189,7 @@ public class CENNotifications extends ReactContextBaseJavaModule {
     @ReactMethod
     public void setApplicationIconBadgeNumber(Integer number) {
         CENNotificationsHelper.Logi("CENNotifications#setApplicationIconBadgeNumber: " + number);
-        ShortcutBadger.applyCount(getReactApplicationContext(), number);
+        CENBadgeController.setBadgeNumber(getReactApplicationContext(), number);
     }
 
     @ReactMethod
@@ -176,14 +220,19 @@ public class CENNotifications extends ReactContextBaseJavaModule {
             reactContext.registerReceiver(new BroadcastReceiver() {
 
                 @Override
-                public void onReceive(Context context, Intent intent) {
-                    Map notificationActionPayload = CENCollections.mapFrom(intent.getBundleExtra("notification"));
-                    if (notificationActionPayload != null && notificationActionPayload.containsKey("notification")) {
-                        String action = (String) notificationActionPayload.get("action");
-                        Map payload = (Map) notificationActionPayload.get("notification");
-                        if (payload != null)
-                            handleNotificationAction(context, action, payload);
-                    }
+                public void onReceive(final Context context, final Intent intent) {
+                    CENNotificationsQueue.execute(this, new Runnable() {
+                        @Override
+                        public void run() {
+                            Map notificationActionPayload = CENNotificationsHelper.notificationPayload(context, intent);
+                            if (notificationActionPayload != null) {
+                                String action = (String) notificationActionPayload.get("action");
+                                Map payload = (Map) notificationActionPayload.get("notification");
+                                if (payload != null)
+                                    handleNotificationAction(context, action, payload);
+                            }
+                        }
+                    });
                 }
             }, filter);
         }
@@ -199,8 +248,8 @@ public class CENNotifications extends ReactContextBaseJavaModule {
     public void deliverInitialNotification() {
         CENNotificationsHelper.Logi("CENNotifications#deliverInitialNotification");
         Activity activity = getCurrentActivity();
-        if (activity != null && activity.getIntent().getExtras() != null &&
-            activity.getIntent().getExtras().containsKey("notification")) {
+        if (activity != null && activity.getIntent() != null &&
+            CENNotificationsHelper.hasNotificationPayload(activity.getIntent())) {
             CENNotifications.onNotification(getReactApplicationContext(), activity.getIntent(), null);
         }
     }
@@ -219,15 +268,15 @@ public class CENNotifications extends ReactContextBaseJavaModule {
         List<Map<String, Object>> deliveredNotifications = CENNotificationsHelper.deliveredNotifications(context);
 
         for (Map<String, Object> payload : deliveredNotifications) {
-            CENNotification notification = new CENNotification(getReactApplicationContext(), payload);
             Map<String, Object> deliveredPayload = new HashMap<>();
             Map<String, Object> notificationData = new HashMap<>();
 
-            notificationData.put("notification", notification.toMap());
+            // Stored payload already is serialized notification representation.
+            notificationData.put("notification", payload);
             notificationData.put("foreground", false);
             notificationData.put("userInteraction", false);
 
-            deliveredPayload.put("date", notification.sentTime());
+            deliveredPayload.put("date", new CENNotificationPayload(payload).sentTime());
             deliveredPayload.put("data", notificationData);
             jsPayload.add(deliveredPayload);
         }
@@ -235,6 +284,91 @@ public class CENNotifications extends ReactContextBaseJavaModule {
         callback.invoke(CENCollections.rnCollectionFrom(jsPayload));
     }
 
+    /**
+     * Retrieve window of notifications which has been delivered to this device (from newest to oldest).
+     * Only requested window is read from storage, so this method should be used instead of 'deliveredNotifications' for
+     * large lists.
+     *
+     * @param options  Reference on map with page options: 'limit' - maximum number of notifications in page (20 by
+     *                 default); 'cursor' - continuation token which has been returned with previous page; 'since' -
+     *                 date (in milliseconds) starting from which notifications should be returned.
+     * @param callback Reference on function which is used by React Native to return calling code requested data.
+     *                 Function accept two parameters: list of delivered notifications and continuation token which
+     *                 should be used to request next page ('null' if there is no more notifications).
+     */
+    @ReactMethod
+    public void deliveredNotificationsPage(ReadableMap options, Callback callback) {
+        CENNotificationsHelper.Logi("CENNotifications#deliveredNotificationsPage");
+        String cursor = options.hasKey("cursor") && !options.isNull("cursor") ? options.getString("cursor") : null;
+        int limit = options.hasKey("limit") && !options.isNull("limit") ? options.getInt("limit") : 20;
+        long since = options.hasKey("since") && !options.isNull("since") ? (long) options.getDouble("since") : 0;
+        CENDeliveredNotificationsStore.Page page = CENNotificationsHelper.deliveredNotifications(
+                getReactApplicationContext(), cursor, Math.max(limit, 1), since);
+        List<Map<String, Object>> jsPayload = new ArrayList<>();
+
+        for (int notificationIdx = 0; notificationIdx < page.notifications.size(); notificationIdx++) {
+            Map<String, Object> deliveredPayload = new HashMap<>();
+            Map<String, Object> notificationData = new HashMap<>();
+
+            notificationData.put("notification", page.notifications.get(notificationIdx));
+            notificationData.put("foreground", false);
+            notificationData.put("userInteraction", false);
+
+            deliveredPayload.put("date", page.dates.get(notificationIdx));
+            deliveredPayload.put("data", notificationData);
+            jsPayload.add(deliveredPayload);
+        }
+
+        callback.invoke(CENCollections.rnCollectionFrom(jsPayload), page.cursor);
+    }
+
+    /**
+     * Retrieve limits which is used to trim list of delivered notifications.
+     *
+     * @param callback Reference on function which is used by React Native to return calling code requested data.
+     *                 Function accept map with 'maxCount', 'maxBytes' and 'maxAge' (in milliseconds) limits.
+     */
+    @ReactMethod
+    public void deliveredNotificationsLimits(Callback callback) {
+        CENNotificationsHelper.Logi("CENNotifications#deliveredNotificationsLimits");
+        Map<String, Object> limits = CENNotificationsHelper.deliveredNotificationsLimits(getReactApplicationContext());
+
+        callback.invoke(CENCollections.rnCollectionFrom(limits));
+    }
+
+    /**
+     * Retrieve remote notifications processing pipeline metrics collected by this process.
+     *
+     * @param callback Reference on function which is used by React Native to return calling code requested data.
+     *                 Function accept map with 'stages' (stage name mapped to 'count' and 'mean', 'p50', 'p90', 'p99',
+     *                 'max' durations in milliseconds), 'counters' (counter name mapped to value) and 'delivery'
+     *                 (end-to-end delivery latency percentiles for recently received notifications).
+     */
+    @ReactMethod
+    public void getMetrics(Callback callback) {
+        CENNotificationsHelper.Logi("CENNotifications#getMetrics");
+        Map<String, Object> metrics = CENMetrics.snapshot();
+        metrics.put("delivery", CENDeliveryLatency.snapshot());
+
+        callback.invoke(CENCollections.rnCollectionFrom(metrics));
+    }
+
+    /**
+     * Update limits which is used to trim list of delivered notifications. Oldest notifications will be removed from
+     * list as soon as any of limits will be exceeded.
+     *
+     * @param limits Reference on map with 'maxCount', 'maxBytes' and / or 'maxAge' (in milliseconds) limits which
+     *               should be changed. Zero or negative value will disable corresponding limit.
+     */
+    @ReactMethod
+    public void setDeliveredNotificationsLimits(ReadableMap limits) {
+        CENNotificationsHelper.Logi("CENNotifications#setDeliveredNotificationsLimits");
+        Map limitsMap = CENCollections.mapFrom(limits);
+
+        if (limitsMap != null)
+            CENNotificationsHelper.setDeliveredNotificationsLimits(getReactApplicationContext(), limitsMap);
+    }
+
     /**
      * Reschedule all events which has been generated by application and native module before JS counterpart has been
      * loaded and subscribed on them.
@@ -255,13 +389,108 @@ public class CENNotifications extends ReactContextBaseJavaModule {
         sendRegistrationCompleteEvent(context);
     }
 
+    /**
+     * Reschedule all events which has been generated by application and native module before JS counterpart has been
+     * loaded and subscribed on them.
+     * Missed remote notification events collapsed (only latest event for same Chat Engine event identifier is kept)
+     * and delivered in chunks with 'CENReceivedRemoteNotifications' event which carry list of notification events.
+     * Events delivered in order in which they has been received: notification events which has been received before
+     * any other event delivered before it.
+     *
+     * @param options Reference on replay configuration: 'chunkSize' - maximum number of notifications which can be
+     *                sent with single event (default 50).
+     */
+    @ReactMethod
+    public void receiveMissedEventsBatched(@Nullable ReadableMap options) {
+        CENNotifications.listenerIsReady = true;
+        ReactApplicationContext context = getReactApplicationContext();
+        int chunkSize = MISSED_EVENTS_CHUNK_SIZE;
+        if (options != null && options.hasKey("chunkSize") && !options.isNull("chunkSize"))
+            chunkSize = Math.max(1, options.getInt("chunkSize"));
+
+        List<Map<String, Object>> storedEvents = CENNotificationsHelper.storedEvents(context);
+        CENNotificationsHelper.Logi("CENNotifications#receiveMissedEventsBatched: there is " + storedEvents.size() +
+                " missed events.");
+
+        if (storedEvents.size() > 0) {
+            Map<String, Object> notificationEvents = new LinkedHashMap<>();
+            DeviceEventManagerModule.RCTDeviceEventEmitter emitter =
+                    context.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class);
+
+            for (int eventIdx = 0; eventIdx < storedEvents.size(); eventIdx++) {
+                Map<String, Object> eventData = storedEvents.get(eventIdx);
+                String eventName = (String) eventData.get("eventName");
+
+                if (JS_RECEIVED_REMOTE_NOTIFICATION.equalsIgnoreCase(eventName)) {
+                    String key = missedEventCollapseKey(eventData.get("eventBody"));
+                    if (key == null)
+                        key = String.valueOf(eventIdx);
+
+                    // Re-insert, so collapsed event will take position of latest received event.
+                    notificationEvents.remove(key);
+                    notificationEvents.put(key, eventData.get("eventBody"));
+                } else if (eventName != null && !eventName.equalsIgnoreCase(JS_DID_REGISTER_DEVICE)) {
+                    sendMissedNotifications(emitter, notificationEvents, chunkSize);
+                    sendEvent(context, eventData);
+                }
+            }
+
+            sendMissedNotifications(emitter, notificationEvents, chunkSize);
+            CENNotificationsHelper.clearStoredEvents(context);
+        }
+        sendRegistrationCompleteEvent(context);
+    }
+
+    /**
+     * Send collected missed remote notification events in chunks and forget them.
+     *
+     * @param emitter Reference on emitter which should be used to send events to JS counterpart.
+     * @param notificationEvents Reference on collapsed remote notification events mapped to their collapse keys.
+     * @param chunkSize Maximum number of notifications which can be sent with single event.
+     */
+    private static void sendMissedNotifications(DeviceEventManagerModule.RCTDeviceEventEmitter emitter,
+                                                Map<String, Object> notificationEvents, int chunkSize) {
+        List<Object> notifications = new ArrayList<>(notificationEvents.values());
+
+        for (int chunkStart = 0; chunkStart < notifications.size(); chunkStart += chunkSize) {
+            List<Object> chunk = notifications.subList(chunkStart, Math.min(notifications.size(),
+                    chunkStart + chunkSize));
+            emitter.emit(JS_RECEIVED_REMOTE_NOTIFICATIONS, CENCollections.writableArrayFrom(chunk));
+        }
+        notificationEvents.clear();
+    }
+
+    /**
+     * Compose key which is used to collapse missed remote notification events.
+     *
+     * @param eventBody Reference on remote notification event's data.
+     * @return Key which is composed from Chat Engine event identifier (top-level 'eid' of Chat Engine payload) and user
+     *         interaction information or 'null' in case if event doesn't have Chat Engine event identifier.
+     */
+    @Nullable
+    private static String missedEventCollapseKey(Object eventBody) {
+        if (!(eventBody instanceof Map))
+            return null;
+
+        CENNotificationPayload notification = new CENNotificationPayload(((Map) eventBody).get("notification"));
+        String eid = notification.eventId();
+        if (eid == null)
+            return null;
+
+        Object action = ((Map) eventBody).get("action");
+        Object actionIdentifier = action instanceof Map ? ((Map) action).get("identifier") : null;
+
+        return notification.chatEngineEvent() + ":" + eid + ":" + ((Map) eventBody).get("userInteraction") + ":" +
+                actionIdentifier;
+    }
+
 
     /////////////////////////////////////////////////////////////////////////////////////////////////
     // Events
     /////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Register on intentions which is broadcast'ed by native module static functions.
+     * Register on intentions which is broadcast'ed by native module static functions from another process.
      * This is required, because only initialized instances has access to react application context which is required to
      * send event to JS counterpart.
      */
@@ -275,30 +504,82 @@ public class CENNotifications extends ReactContextBaseJavaModule {
         reactContext.registerReceiver(new BroadcastReceiver() {
             @Override
             public void onReceive(Context context, Intent intent) {
-                Map<String, Object> eventPayload = CENCollections.mapFrom(intent.getExtras());
+                final Bundle eventPayload = intent.getExtras();
 
-                sendEvent(reactContext, eventPayload);
+                if (eventPayload != null) {
+                    CENNotificationsQueue.execute(this, new Runnable() {
+                        @Override
+                        public void run() {
+                            sendEvent(reactContext, eventPayload.getString("eventName"),
+                                    eventPayload.getBundle("eventBody"));
+                        }
+                    });
+                }
             }
         }, registrationIntentFilter);
 
         reactContext.registerReceiver(new BroadcastReceiver() {
             @Override
             public void onReceive(Context context, Intent intent) {
-                Map<String, Object> eventPayload = CENCollections.mapFrom(intent.getExtras());
-                if (eventPayload != null) {
-                    Map<String, Object> eventBody = (Map<String, Object>) eventPayload.get("eventBody");
-                    HashMap<String, Map> notificationPayload = (HashMap<String, Map>)eventBody.get("notification");
-                    Map cePayload = notificationPayload.get("cepayload");
-
-                    if (((String) cePayload.get("event")).equalsIgnoreCase(CHAT_ENGINE_SEEN_EVENT))
-                        CENNotifications.markNotificationAsSeen(context, new CENNotification(reactContext, notificationPayload));
-                    else
-                        sendEvent(reactContext, eventPayload);
+                final Bundle eventPayload = intent.getExtras();
+                final Bundle eventBody = eventPayload != null ? eventPayload.getBundle("eventBody") : null;
+                final Bundle notificationPayload = eventBody != null ? eventBody.getBundle("notification") : null;
+                final Bundle cePayload = notificationPayload != null ? notificationPayload.getBundle("cepayload") : null;
+
+                if (cePayload != null) {
+                    CENNotificationsQueue.execute(this, new Runnable() {
+                        @Override
+                        public void run() {
+                            handleRemoteNotificationEvent(eventPayload.getString("eventName"), eventBody,
+                                    notificationPayload, cePayload.getString("event"));
+                        }
+                    });
                 }
             }
         }, notificationIntentFilter);
     }
 
+    /**
+     * Handle event which has been dispatched by native module static functions in same process.
+     *
+     * @param broadcastFilter Reference on name of dispatched event.
+     * @param eventName       Reference on name of event which should be sent to JS counterpart.
+     * @param payload         Reference on event's data which should be sent along with it.
+     * @return 'true' in case if event has been emitted to JS counterpart.
+     */
+    private boolean handleEvent(String broadcastFilter, String eventName, Map<String, Object> payload) {
+        if (broadcastFilter.equals(BROADCAST_RECEIVED_REMOTE_NOTIFICATION)) {
+            Object notificationPayload = payload.get("notification");
+            Object cePayload = notificationPayload instanceof Map ? ((Map) notificationPayload).get("cepayload") : null;
+
+            return cePayload instanceof Map && handleRemoteNotificationEvent(eventName, payload, notificationPayload,
+                    (String) ((Map) cePayload).get("event"));
+        }
+
+        return sendEvent(getReactApplicationContext(), eventName, payload);
+    }
+
+    /**
+     * Handle remote notification event: mark delivered notifications as seen or send event to JS counterpart.
+     *
+     * @param eventName           Reference on name of event which should be sent to JS counterpart.
+     * @param eventBody           Reference on event's data (Map or Bundle) which should be sent along with it.
+     * @param notificationPayload Reference on notification's data (Map or Bundle).
+     * @param chatEngineEvent     Reference on name of Chat Engine event for which notification has been sent.
+     * @return 'true' in case if event has been emitted to JS counterpart.
+     */
+    private boolean handleRemoteNotificationEvent(String eventName, Object eventBody, Object notificationPayload,
+                                                  @Nullable String chatEngineEvent) {
+        ReactContext reactContext = getReactApplicationContext();
+
+        if (CHAT_ENGINE_SEEN_EVENT.equalsIgnoreCase(chatEngineEvent)) {
+            CENNotifications.markNotificationAsSeen(reactContext, new CENNotificationPayload(notificationPayload));
+            return false;
+        }
+
+        return sendEvent(reactContext, eventName, eventBody);
+    }
+
     /**
      * Re-send device registration event if possible.
      *
@@ -316,33 +597,83 @@ public class CENNotifications extends ReactContextBaseJavaModule {
      * @param reactContext Reference on context from which handler has been called (usually activity or service).
      * @param payload      Reference on data which should be sent along with event.
      */
-    @SuppressWarnings("unchecked")
     private void sendEvent(ReactContext reactContext, Map<String, Object> payload) {
+        sendEvent(reactContext, (String) payload.get("eventName"), payload.get("eventBody"));
+    }
+
+    /**
+     * Send event to JS counterpart with passed payload.
+     * Event data converted straight to React Native collection without intermediate copies.
+     *
+     * @param reactContext Reference on context from which handler has been called (usually activity or service).
+     * @param eventName    Reference on name of event which should be sent to JS counterpart.
+     * @param eventBody    Reference on data (Map or Bundle) which should be sent along with event.
+     * @return 'true' in case if event has been emitted to JS counterpart (not stored for later delivery).
+     */
+    private boolean sendEvent(ReactContext reactContext, String eventName, @Nullable Object eventBody) {
         if (CENNotifications.listenerIsReady && CENNotificationsHelper.isReactNativeReady(getReactApplicationContext())) {
-            String eventName = (String) payload.get("eventName");
-            Map<String, Object> eventData = (Map<String, Object>) payload.get("eventBody");
-            WritableMap jsPayload = (WritableMap) CENCollections.rnCollectionFrom(eventData);
+            long emitStart = CENMetrics.start();
+            WritableMap jsPayload = CENCollections.writableMapFrom(eventBody);
 
-            if (jsPayload != null)
+            if (jsPayload != null) {
                 reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class).emit(eventName, jsPayload);
+                CENMetrics.record(CENMetrics.STAGE_BRIDGE_EMIT, emitStart);
+                CENMetrics.increment(CENMetrics.COUNTER_EMITTED);
+
+                return true;
+            }
         } else {
             CENNotificationsHelper.Logi("CENNotifications#sendEvent: React Native not ready. Store event.");
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("eventName", eventName);
+            payload.put("eventBody", eventBody instanceof Bundle ? CENCollections.mapFrom(eventBody) : eventBody);
+
             CENNotifications.listenerIsReady = false;
             CENNotificationsHelper.storeEvent(reactContext, payload);
+            CENMetrics.increment(CENMetrics.COUNTER_STORED);
+        }
+
+        return false;
+    }
+
+    /**
+     * Check whether there is module instances which is alive in this process (process has UI).
+     *
+     * @return 'true' in case if at least one module instance alive in this process.
+     */
+    private static boolean hasLiveModules() {
+        synchronized (liveModules) {
+            return liveModules.size() > 0;
         }
     }
 
     /**
-     * Broadcast intention event to all subscribers who would like to process it.
+     * Deliver event to all subscribers who would like to process it.
+     * Event passed directly to module instances which is alive in this process. If there is no such instances (for
+     * example when messaging service configured to run in separate process), event will be broadcast'ed.
      *
      * @param context         Reference on context from which handler has been called (usually activity or service).
      * @param broadcastFilter Reference on name of broadcast'ed event which is used by intention filters used to
      *                        register for events.
      * @param eventName       Reference on name of event which should be sent to JS counterpart.
      * @param payload         Reference on event's data which should be sent along with it.
+     * @return 'true' in case if event has been emitted to JS counterpart in this process.
      */
-    private static void broadcastEvent(Context context, String broadcastFilter, String eventName,
-                                       Map<String, Object> payload) {
+    private static boolean broadcastEvent(Context context, String broadcastFilter, String eventName,
+                                          Map<String, Object> payload) {
+        List<CENNotifications> modules;
+        synchronized (liveModules) {
+            modules = new ArrayList<>(liveModules);
+        }
+
+        if (modules.size() > 0) {
+            boolean emitted = false;
+            for (CENNotifications module : modules)
+                emitted = module.handleEvent(broadcastFilter, eventName, payload) || emitted;
+
+            return emitted;
+        }
+
         HashMap<String, Object> eventPayload = new HashMap<>();
         eventPayload.put("eventName", eventName);
         eventPayload.put("eventBody", payload);
@@ -353,10 +684,12 @@ public class CENNotifications extends ReactContextBaseJavaModule {
             intent.putExtras(extras);
             context.sendBroadcast(intent);
         }
+
+        return false;
     }
 
     private void handleNotificationAction(Context context, String action, Object payload) {
-        CENNotification notification = new CENNotification(context, CENCollections.bundleFrom(payload));
+        CENNotificationPayload notification = new CENNotificationPayload(payload);
 
         if (actionsActivity.get(action) != null && !((String) actionsActivity.get(action)).equalsIgnoreCase("none")) {
             try {
@@ -375,7 +708,7 @@ public class CENNotifications extends ReactContextBaseJavaModule {
             }
         }
 
-        CENNotifications.onNotification(context, notification, null, action, false);
+        CENNotifications.onNotification(context, payload, null, action, false);
     }
 
 
@@ -383,20 +716,108 @@ public class CENNotifications extends ReactContextBaseJavaModule {
     // Notifications
     /////////////////////////////////////////////////////////////////////////////////////////////////
 
-    private static void scheduleNotification(Context context, CENNotification notification, Boolean reScheduled) {
+    /**
+     * Post notification to notification center (and store it in list of delivered notifications if required).
+     *
+     * @param context      Reference on context from which handler has been called (usually activity or service).
+     * @param notification Reference on notification which should be posted.
+     * @param reScheduled  Whether notification has been re-scheduled after device restart or not.
+     * @param delivery     Reference on notification delivery record which should be marked as posted or 'null'.
+     */
+    private static void scheduleNotification(Context context, CENNotification notification, Boolean reScheduled,
+                                             @Nullable CENDeliveryLatency.Record delivery) {
         String chatEngineEvent = notification.chatEngineEvent();
         if (chatEngineEvent != null && !chatEngineEvent.equalsIgnoreCase(CHAT_ENGINE_SEEN_EVENT) && notification.canBeShown()) {
-            if (!reScheduled)
+            if (!reScheduled) {
+                long persistenceStart = CENMetrics.start();
                 CENNotificationsHelper.storeNotification(context, notification);
-
-            NotificationManager notificationManager = ((NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE));
-            if (notificationManager != null) {
-                if (notification.tag() != null)
-                    notificationManager.notify(notification.tag(), notification.id(), notification.notification(context));
-                else
-                    notificationManager.notify(notification.id(), notification.notification(context));
+                CENMetrics.record(CENMetrics.STAGE_PERSISTENCE, persistenceStart);
             }
+
+            if (!reScheduled)
+                CENNotificationsPoster.post(context, notification, delivery);
+            else
+                CENNotificationsPoster.postImmediately(context, notification);
+        }
+    }
+
+    /**
+     * Re-post delivered notifications after device restart.
+     * Only newest notifications will be posted and rest will be collapsed into group summary. There is no JS
+     * counterpart at this moment, so notifications not broadcast'ed and application icon badge updated only once.
+     *
+     * @param context Reference on context from which handler has been called (usually broadcast receiver).
+     */
+    static void rescheduleDeliveredNotifications(Context context) {
+        int deliveredCount = CENNotificationsHelper.deliveredNotificationsCount(context);
+        List<Map<String, Object>> deliveredNotifications = CENNotificationsHelper.deliveredNotifications(context,
+                null, RESCHEDULED_NOTIFICATIONS_LIMIT, 0).notifications;
+        boolean collapse = deliveredCount > deliveredNotifications.size() &&
+                Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT_WATCH;
+        CENNotification newestNotification = null;
+        int badge = -1;
+
+        CENNotificationsHelper.Logi("CENNotifications#reschedule: re-post " + deliveredNotifications.size() + " of " +
+                deliveredCount + " delivered notifications.");
+
+        // Post from oldest to newest, so newest notification will be shown on top.
+        for (int notificationIdx = deliveredNotifications.size() - 1; notificationIdx >= 0; notificationIdx--) {
+            CENNotification notification = new CENNotification(context, deliveredNotifications.get(notificationIdx));
+            if (notification.chatEnginePayload() == null)
+                continue;
+
+            if (collapse && notification.group() == null)
+                notification.group(RESCHEDULED_NOTIFICATIONS_GROUP);
+            if (notification.badge() >= 0)
+                badge = notification.badge();
+
+            scheduleNotification(context, notification, true, null);
+            newestNotification = notification;
+
+            // Remember re-posted notification, so it won't be shown again if FCM will re-deliver it.
+            Object eid = notification.chatEnginePayload().get("eid");
+            CENRecentMessages.remember(context, notification.googleNotificationId(),
+                    eid instanceof String ? (String) eid : null);
+        }
+
+        if (badge >= 0)
+            CENBadgeController.setBadgeNumber(context, badge, false);
+        if (collapse && newestNotification != null)
+            postRescheduledNotificationsSummary(context, newestNotification, deliveredCount);
+    }
+
+    /**
+     * Post summary for group of notifications which has been re-posted after device restart.
+     *
+     * @param context Reference on execution context.
+     * @param newestNotification Reference on newest re-posted notification (used as source for summary appearance).
+     * @param count Overall number of delivered notifications.
+     */
+    private static void postRescheduledNotificationsSummary(Context context, CENNotification newestNotification,
+                                                           int count) {
+        NotificationManager notificationManager = ((NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE));
+        CENApplicationDefaults defaults = CENApplicationDefaults.sharedInstance(context);
+        if (notificationManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT_WATCH)
+            return;
+
+        Notification.Builder builder = new Notification.Builder(context)
+                .setSmallIcon(newestNotification.smallIcon() != 0 ? newestNotification.smallIcon() : defaults.smallIcon)
+                .setContentTitle(defaults.applicationLabel)
+                .setContentText(newestNotification.contentText())
+                .setNumber(count)
+                .setAutoCancel(true)
+                .setGroup(RESCHEDULED_NOTIFICATIONS_GROUP)
+                .setGroupSummary(true);
+
+        Class launcherActivity = CENNotificationsHelper.launcherActivity(context);
+        if (launcherActivity != null) {
+            Intent intent = new Intent(context, launcherActivity);
+            builder.setContentIntent(PendingIntent.getActivity(context, 0, intent, PendingIntent.FLAG_UPDATE_CURRENT));
         }
+        if (Build.VERSION.SDK_INT >= 26 && newestNotification.channelId() != null)
+            builder.setChannelId(newestNotification.channelId());
+
+        notificationManager.notify(RESCHEDULED_NOTIFICATIONS_SUMMARY_TAG, 0, builder.build());
     }
 
     /**
@@ -404,25 +825,24 @@ public class CENNotifications extends ReactContextBaseJavaModule {
      * There is no native support for list of received notifications.
      */
     @SuppressWarnings("unchecked")
-    private static void markNotificationAsSeen(Context context, CENNotification notification) {
-        Map<String, Object> chatEnginePayload = notification.chatEnginePayload();
+    private static void markNotificationAsSeen(Context context, CENNotificationPayload notification) {
         String chatEngineEvent = notification.chatEngineEvent();
-        if (chatEnginePayload != null && chatEngineEvent != null && chatEngineEvent.equalsIgnoreCase(CHAT_ENGINE_SEEN_EVENT)) {
+        if (chatEngineEvent != null && chatEngineEvent.equalsIgnoreCase(CHAT_ENGINE_SEEN_EVENT)) {
             NotificationManager notificationManager = ((NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE));
-            Map cePayloadData = (Map) chatEnginePayload.get("data");
-            if (cePayloadData != null && cePayloadData.containsKey("eid") && notificationManager != null) {
-                String eid = (String) cePayloadData.get("eid");
-
+            String eid = notification.eid();
+            if (eid != null && notificationManager != null) {
                 if (eid.equalsIgnoreCase("all")) {
                     CENNotificationsHelper.Logi("CENNotifications#markNotificationAsSeen: all notifications.");
                     CENNotificationsHelper.clearDeliveredNotifications(context);
+                    CENNotificationsPoster.clear();
                     notificationManager.cancelAll();
                 } else {
                     CENNotificationsHelper.Logi("CENNotifications#markNotificationAsSeen: notifications with " + eid + " id.");
-                    CENNotification deliveredNotification = CENNotificationsHelper.deliveredNotification(context, eid);
+                    CENNotificationPayload deliveredNotification = CENNotificationsHelper.deliveredNotification(context, eid);
                     if (deliveredNotification != null) {
-                        CENNotificationsHelper.removeDeliveredNotification(context, deliveredNotification);
-                        notificationManager.cancel(deliveredNotification.id());
+                        CENNotificationsHelper.removeDeliveredNotification(context, deliveredNotification.id());
+                        for (Integer mergedId : CENNotificationsPoster.cancel(context, deliveredNotification.id()))
+                            CENNotificationsHelper.removeDeliveredNotification(context, mergedId);
                     }
                 }
 
@@ -463,23 +883,45 @@ public class CENNotifications extends ReactContextBaseJavaModule {
     public static void onNotification(Context context, Object payload, @Nullable String sender) {
         String action = null;
         if (payload instanceof Intent) {
-            if (((Intent) payload).hasExtra("notification")) {
-                action = NOTIFICATION_DEFAULT_EVENT;
-                Map notificationIntentPayload = CENCollections.mapFrom(((Intent) payload).getBundleExtra("notification"));
-
-                if (notificationIntentPayload != null && notificationIntentPayload.containsKey("notification")) {
-                    if (notificationIntentPayload.containsKey("action"))
-                        action = (String) notificationIntentPayload.get("action");
-                    payload = CENCollections.bundleFrom(notificationIntentPayload.get("notification"));
-                }
-            } else
+            Map notificationIntentPayload = null;
+            if (CENNotificationsHelper.hasNotificationPayload((Intent) payload)) {
+                notificationIntentPayload = CENNotificationsHelper.notificationPayload(context, (Intent) payload);
+                CENNotificationsHelper.removeMergedNotifications(context, (Intent) payload);
+            }
+
+            // Notification may be already removed from delivered notifications store.
+            if (notificationIntentPayload == null)
                 return;
 
+            action = NOTIFICATION_DEFAULT_EVENT;
+            if (notificationIntentPayload.containsKey("action"))
+                action = (String) notificationIntentPayload.get("action");
+            payload = notificationIntentPayload.get("notification");
         }
 
         onNotification(context, payload, sender, action, false);
     }
 
+    /**
+     * Handle remote notification which has been received by Firebase event listener.
+     * Notifications which FCM delivered more than once dropped before payload parsing. Notification delivery latencies
+     * will be tracked starting from passed receive date.
+     *
+     * @param context      Reference on context from which handler has been called (usually service).
+     * @param message      Reference on received remote notification.
+     * @param receivedTime Time (milliseconds since boot) when notification has been received by device.
+     */
+    static void onRemoteNotification(Context context, RemoteMessage message, long receivedTime) {
+        if (CENRecentMessages.isDuplicateMessage(context, message.getMessageId())) {
+            CENNotificationsHelper.Logi("CENNotifications#onRemoteNotification: drop duplicate message: " +
+                    message.getMessageId());
+            CENMetrics.increment(CENMetrics.COUNTER_DUPLICATES);
+            return;
+        }
+
+        onNotification(context, message, null, null, false, receivedTime);
+    }
+
     /**
      * Handle notification which has been received from Firebase event listener or after user tap from notification
      * center.
@@ -489,53 +931,99 @@ public class CENNotifications extends ReactContextBaseJavaModule {
      * @param action      Reference on name of action which user chosen.
      * @param reScheduled Whether notification has been re-scheduled after device restart or not.
      */
-    @SuppressWarnings("unchecked")
     static void onNotification(Context context, Object payload, @Nullable String sender, @Nullable String action,
                                Boolean reScheduled) {
+        onNotification(context, payload, sender, action, reScheduled, 0);
+    }
 
-        CENNotification notification;
-        if (payload instanceof CENNotification)
-            notification = (CENNotification) payload;
-        else
-            notification = new CENNotification(context, payload, sender);
+    /**
+     * Handle notification which has been received from Firebase event listener or after user tap from notification
+     * center.
+     * Notification identity, Chat Engine payload and application state checked using lightweight payload view, so
+     * notification model created only for notifications which should be handled by module.
+     *
+     * @param context      Reference on context from which handler has been called (usually activity or service).
+     * @param payload      Reference on object which contain data representing notification.
+     * @param action       Reference on name of action which user chosen.
+     * @param reScheduled  Whether notification has been re-scheduled after device restart or not.
+     * @param receivedTime Time (milliseconds since boot) when remote notification has been received by device or '0'
+     *                     if delivery latencies shouldn't be tracked.
+     */
+    private static void onNotification(Context context, Object payload, @Nullable String sender,
+                                       @Nullable String action, Boolean reScheduled, long receivedTime) {
+        CENNotificationPayload notificationPayload = new CENNotificationPayload(payload);
 
         // Handle only notifications which has been sent by Chat Engine (using PubNub).
-        if (notification.chatEnginePayload() != null) {
-            String chatEngineEvent = notification.chatEngineEvent();
-            if (chatEngineEvent != null && !chatEngineEvent.equalsIgnoreCase(CHAT_ENGINE_SEEN_EVENT))
+        if (notificationPayload.chatEnginePayload() != null) {
+            // Drop notifications for Chat Engine events which has been received with another message.
+            String eid = notificationPayload.eventId();
+            if (receivedTime > 0 && eid != null && CENRecentMessages.isDuplicateEvent(context, eid)) {
+                CENNotificationsHelper.Logi("CENNotifications#onNotification: drop duplicate event: " + eid);
+                CENMetrics.increment(CENMetrics.COUNTER_DUPLICATES);
+                return;
+            }
+
+            CENMetrics.increment(CENMetrics.COUNTER_CHAT_ENGINE);
+            String chatEngineEvent = notificationPayload.chatEngineEvent();
+            boolean shouldNotify = chatEngineEvent != null && !chatEngineEvent.equalsIgnoreCase(CHAT_ENGINE_SEEN_EVENT);
+            CENDeliveryLatency.Record delivery = null;
+            if (shouldNotify) {
                 CENNotificationsHelper.Logi("CENNotifications#onNotification: received notification with action: " + action);
 
+                if (receivedTime > 0 && action == null && !reScheduled)
+                    delivery = CENDeliveryLatency.received(notificationPayload.channelId(), chatEngineEvent,
+                            notificationPayload.sentTime(), receivedTime);
+            }
+
             // Update application icon badge number (if any has been passed with notification).
-            if (notification.badge() >= 0)
-                ShortcutBadger.applyCount(context, notification.badge());
+            int badge = notificationPayload.badge();
+            if (badge >= 0)
+                CENBadgeController.setBadgeNumber(context, badge, hasLiveModules());
 
-            // Construct notification payload for JS counterpart.
+            long foregroundCheckStart = CENMetrics.start();
             Boolean foreground = CENNotificationsHelper.isApplicationInForeground(context);
+            CENMetrics.record(CENMetrics.STAGE_FOREGROUND_CHECK, foregroundCheckStart);
+
+            // Notification model created once, so JS counterpart will receive same normalized payload (with same
+            // notification identifier) as one which is posted and stored in delivered notifications.
+            long parseStart = CENMetrics.start();
+            CENNotification notification = new CENNotification(context, payload, sender);
+            CENMetrics.record(CENMetrics.STAGE_PARSE, parseStart);
+
+            // Construct notification payload for JS counterpart.
             Map<String, Object> jsPayload = new HashMap<>();
             jsPayload.put("notification", notification.toMap());
             jsPayload.put("userInteraction", action != null);
             jsPayload.put("foreground", !reScheduled && action == null && foreground);
             if (action != null && !action.equalsIgnoreCase(NOTIFICATION_DEFAULT_EVENT)) {
                 Map<String, Object> actionPayload = new HashMap<>();
-                actionPayload.put("category", notification.chatEngineNotificationCategory());
+                actionPayload.put("category", notificationPayload.chatEngineNotificationCategory());
                 actionPayload.put("identifier", action);
                 jsPayload.put("action", actionPayload);
             }
-            CENNotifications.broadcastEvent(context, BROADCAST_RECEIVED_REMOTE_NOTIFICATION,
+            long broadcastStart = CENMetrics.start();
+            boolean emitted = CENNotifications.broadcastEvent(context, BROADCAST_RECEIVED_REMOTE_NOTIFICATION,
                     JS_RECEIVED_REMOTE_NOTIFICATION, jsPayload);
+            CENMetrics.record(CENMetrics.STAGE_BROADCAST, broadcastStart);
+            if (emitted && delivery != null)
+                delivery.delivered();
+
+            if (shouldNotify && !foreground && action == null)
+                scheduleNotification(context, notification, reScheduled, delivery);
 
-            if (!foreground && action == null)
-                scheduleNotification(context, notification, reScheduled);
+            // Remember processed remote notification, so it will be dropped if FCM will deliver it again.
+            if (receivedTime > 0)
+                CENRecentMessages.remember(context, notificationPayload.messageId(), eid);
         }
     }
 
     static void onNotificationDelete(Context context, Object payload) {
-        CENNotification notification = new CENNotification(context, payload);
-        if (notification.chatEnginePayload() != null) {
+        CENNotificationPayload notification = new CENNotificationPayload(payload);
+        if (notification.hasId() && notification.chatEnginePayload() != null) {
             CENNotificationsHelper.Logi("CENNotifications#onNotificationDelete: remove notification with " +
                     notification.id() + " ID.");
 
-            CENNotificationsHelper.removeDeliveredNotification(context, notification);
+            CENNotificationsHelper.removeDeliveredNotification(context, notification.id());
         }
     }
 }
@@ -1,16 +1,13 @@
 package com.pubnub.cennotifications.modules;
 
-import java.util.List;
 import java.util.Map;
 
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 
-import android.os.Bundle;
-import com.pubnub.cennotifications.helpers.CENCollections;
 import com.pubnub.cennotifications.helpers.CENNotificationsHelper;
-import com.pubnub.cennotifications.models.CENNotification;
+import com.pubnub.cennotifications.helpers.CENNotificationsQueue;
 
 
 /**
@@ -21,24 +18,28 @@ public class CENNotificationsBroadcastListener extends BroadcastReceiver {
     final private static String NOTIFICATION_DELETED = "com.pubnub.cennotifications.NOTIFICATION_DELETED";
 
     @Override
-    public void onReceive(Context context, Intent intent) {
-        if (intent.getAction().equalsIgnoreCase(Intent.ACTION_BOOT_COMPLETED)) {
-            CENNotificationsHelper.Logi("CENNotifications#boot: Reschedule delivered notifications.");
-            List<Map<String, Object>> deliveredNotifications = CENNotificationsHelper.deliveredNotifications(context);
-
-            for (Map<String, Object> notification : deliveredNotifications) {
-                CENNotifications.onNotification(context, notification, null, null, true);
+    public void onReceive(final Context context, final Intent intent) {
+        final String action = intent.getAction();
+        if (action == null)
+            return;
+
+        // Notifications processing may take time, so it is moved to module's background queue.
+        CENNotificationsQueue.execute(this, new Runnable() {
+            @Override
+            public void run() {
+                if (action.equalsIgnoreCase(Intent.ACTION_BOOT_COMPLETED))
+                    CENNotifications.rescheduleDeliveredNotifications(context);
+                else if (action.equalsIgnoreCase(NOTIFICATION_DELETED))
+                    handleNotificationDelete(context, intent);
             }
-        } else if (intent.getAction().equalsIgnoreCase(NOTIFICATION_DELETED)) {
-            if (intent.hasExtra("notification")) {
-                Map notificationIntentPayload = CENCollections.mapFrom(intent.getBundleExtra("notification"));
+        });
+    }
 
-                if (notificationIntentPayload != null && notificationIntentPayload.containsKey("notification")) {
-                    Bundle bundle = CENCollections.bundleFrom(notificationIntentPayload.get("notification"));
+    private static void handleNotificationDelete(Context context, Intent intent) {
+        Map notificationIntentPayload = CENNotificationsHelper.notificationPayload(context, intent);
+        CENNotificationsHelper.removeMergedNotifications(context, intent);
 
-                    CENNotifications.onNotificationDelete(context, bundle);
-                }
-            }
-        }
+        if (notificationIntentPayload != null)
+            CENNotifications.onNotificationDelete(context, notificationIntentPayload.get("notification"));
     }
 }
@@ -1,8 +1,12 @@
 package com.pubnub.cennotifications.modules;
 
+import android.content.Context;
+import android.os.SystemClock;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
+import com.pubnub.cennotifications.helpers.CENMetrics;
 import com.pubnub.cennotifications.helpers.CENNotificationsHelper;
+import com.pubnub.cennotifications.helpers.CENNotificationsQueue;
 
 
 /**
@@ -10,6 +14,11 @@ import com.pubnub.cennotifications.helpers.CENNotificationsHelper;
  */
 public class CENNotificationsMessagingService extends FirebaseMessagingService {
 
+    /**
+     * Maximum time (in milliseconds) which service can wait for notification processing completion.
+     */
+    private static final long PROCESSING_TIMEOUT = 10000;
+
     /**
      * Handle new notifications delivered by FCM.
      * If notification has been sent by Chat Engine it will be serialized and sent to JS counterpart with
@@ -18,8 +27,24 @@ public class CENNotificationsMessagingService extends FirebaseMessagingService {
      * @param remoteMessage Reference on instance which represent remote notification with extras (if has been sent).
      */
     @Override
-    public void onMessageReceived(RemoteMessage remoteMessage) {
-        CENNotifications.onNotification(this, remoteMessage, null);
+    public void onMessageReceived(final RemoteMessage remoteMessage) {
+        final long receiveTime = CENMetrics.start();
+        final long receivedTime = SystemClock.elapsedRealtime();
+        final Context context = this;
+        CENMetrics.increment(CENMetrics.COUNTER_RECEIVED);
+
+        // Process on module's queue to keep order with notification actions and delete events.
+        boolean completed = CENNotificationsQueue.executeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                CENMetrics.record(CENMetrics.STAGE_QUEUE, receiveTime);
+                CENNotifications.onRemoteNotification(context, remoteMessage, receivedTime);
+                CENMetrics.record(CENMetrics.STAGE_TOTAL, receiveTime);
+            }
+        }, PROCESSING_TIMEOUT);
+
+        if (!completed)
+            CENMetrics.increment(CENMetrics.COUNTER_TIMED_OUT);
     }
 
     @Override
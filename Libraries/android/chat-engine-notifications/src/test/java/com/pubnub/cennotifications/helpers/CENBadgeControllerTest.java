@@ -0,0 +1,134 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.ActivityInfo;
+import android.content.pm.PackageManager;
+import android.content.pm.ResolveInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowApplication;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CENBadgeControllerTest {
+
+    private static final String BADGE_COUNT_UPDATE = "android.intent.action.BADGE_COUNT_UPDATE";
+
+    private Context context;
+
+    /**
+     * Badge number which has been set by previous tests (controller state is shared).
+     */
+    private int initialNumber;
+
+
+    @Before
+    public void setUp() throws PackageManager.NameNotFoundException {
+        context = RuntimeEnvironment.application;
+        CENNotificationsPosterTest.registerLauncherActivity(context);
+        initialNumber = CENBadgeController.badgeNumber(context);
+    }
+
+    @Test
+    public void setBadgeNumber_ShouldApplyNumberWhenLauncherAcceptIt() {
+        registerBadgeReceiver();
+        int number = initialNumber + 10;
+
+        CENBadgeController.setBadgeNumber(context, number, false);
+
+        assertEquals(number, CENBadgeController.badgeNumber(context));
+        assertEquals(1, badgeUpdates().size());
+        assertEquals(number, badgeUpdates().get(0).getIntExtra("badge_count", -1));
+        assertEquals(number, CENNotificationsHelper.settingsStorage(context).getInt("@CENNotifications:badgeNumber", -1));
+    }
+
+    @Test
+    public void setBadgeNumber_ShouldSkipUpdateWhichWontChangeNumber() {
+        registerBadgeReceiver();
+        int number = initialNumber + 10;
+
+        CENBadgeController.setBadgeNumber(context, number, false);
+        CENBadgeController.setBadgeNumber(context, number, false);
+
+        assertEquals(1, badgeUpdates().size());
+    }
+
+    @Test
+    public void setBadgeNumber_ShouldNotRememberNumberWhenLauncherRejectIt() {
+        int number = initialNumber + 10;
+
+        CENBadgeController.setBadgeNumber(context, number, false);
+
+        assertEquals(initialNumber, CENBadgeController.badgeNumber(context));
+        assertEquals(0, badgeUpdates().size());
+
+        registerBadgeReceiver();
+        CENBadgeController.setBadgeNumber(context, number, false);
+
+        assertEquals(number, CENBadgeController.badgeNumber(context));
+        assertEquals(1, badgeUpdates().size());
+    }
+
+    @Test
+    public void setBadgeNumber_ShouldDebounceUpdatesIntoTrailingUpdate() {
+        registerBadgeReceiver();
+        int number = initialNumber + 10;
+
+        CENBadgeController.setBadgeNumber(context, number);
+        CENBadgeController.setBadgeNumber(context, number + 1);
+        CENBadgeController.setBadgeNumber(context, number + 2);
+
+        assertEquals(number + 2, CENBadgeController.badgeNumber(context));
+        assertEquals(0, badgeUpdates().size());
+
+        ShadowLooper.idleMainLooper(300, TimeUnit.MILLISECONDS);
+        CENNotificationsQueue.executeAndWait(new Runnable() {
+            @Override
+            public void run() {}
+        }, 5000);
+
+        assertEquals(1, badgeUpdates().size());
+        assertEquals(number + 2, badgeUpdates().get(0).getIntExtra("badge_count", -1));
+        assertEquals(number + 2, CENBadgeController.badgeNumber(context));
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Helpers
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Register receiver which will accept default badge number update broadcasts.
+     */
+    private void registerBadgeReceiver() {
+        ResolveInfo resolveInfo = new ResolveInfo();
+        resolveInfo.activityInfo = new ActivityInfo();
+        resolveInfo.activityInfo.packageName = "com.android.launcher";
+        resolveInfo.activityInfo.name = "BadgeReceiver";
+
+        shadowOf(context.getPackageManager()).addResolveInfoForIntent(new Intent(BADGE_COUNT_UPDATE), resolveInfo);
+    }
+
+    private List<Intent> badgeUpdates() {
+        List<Intent> updates = ShadowApplication.getInstance().getBroadcastIntents();
+        for (int intentIdx = updates.size() - 1; intentIdx >= 0; intentIdx--) {
+            if (!BADGE_COUNT_UPDATE.equals(updates.get(intentIdx).getAction()))
+                updates.remove(intentIdx);
+        }
+
+        return updates;
+    }
+}
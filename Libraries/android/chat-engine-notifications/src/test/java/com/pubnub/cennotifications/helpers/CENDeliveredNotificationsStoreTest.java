@@ -0,0 +1,316 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import android.content.Context;
+import com.pubnub.cennotifications.models.CENNotification;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CENDeliveredNotificationsStoreTest {
+
+    private Context context;
+
+    private CENDeliveredNotificationsStore store;
+
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        store = CENDeliveredNotificationsStore.sharedInstance(context);
+        store.clear();
+    }
+
+    @After
+    public void tearDown() {
+        Map<String, Object> limits = new HashMap<>();
+        limits.put("maxCount", 200);
+        limits.put("maxBytes", 1024 * 1024L);
+        limits.put("maxAge", 7 * 24 * 60 * 60 * 1000L);
+        store.setLimits(limits);
+        store.clear();
+    }
+
+    @Test
+    public void notificationWithIdAndEID_ShouldReturnStoredNotification() {
+        CENNotification notification = notification("EID-1", 0);
+        store.store(notification);
+
+        Map<String, Object> storedById = store.notificationWithId(notification.id());
+        Map<String, Object> storedByEID = store.notificationWithEID("eid-1");
+
+        assertNotNull(storedById);
+        assertNotNull(storedByEID);
+        assertEquals(storedById, storedByEID);
+        assertEquals("EID-1", ((Map) storedById.get("cepayload")).get("eid"));
+        assertEquals(1, store.count());
+    }
+
+    @Test
+    public void notificationWithIdAndEID_ShouldReturnNullForUnknownIdentifiers() {
+        store.store(notification("EID-1", 0));
+
+        assertNull(store.notificationWithId(-1));
+        assertNull(store.notificationWithEID("EID-2"));
+    }
+
+    @Test
+    public void removeNotificationWithId_ShouldRemoveNotificationFromBothIndices() {
+        CENNotification notification = notification("EID-1", 0);
+        store.store(notification);
+
+        assertTrue(store.removeNotificationWithId(notification.id()));
+        assertFalse(store.removeNotificationWithId(notification.id()));
+        assertNull(store.notificationWithId(notification.id()));
+        assertNull(store.notificationWithEID("EID-1"));
+        assertEquals(0, store.count());
+    }
+
+    @Test
+    public void removeNotificationWithId_ShouldPointEIDToNewestRemainingNotification() {
+        CENNotification oldest = notification("EID-1", 0);
+        CENNotification middle = notification("EID-1", 0);
+        CENNotification newest = notification("EID-1", 0);
+        store.store(oldest);
+        store.store(middle);
+        store.store(newest);
+
+        assertEquals(newest.id(), idOf(store.notificationWithEID("EID-1")));
+        store.removeNotificationWithId(newest.id());
+        assertEquals(middle.id(), idOf(store.notificationWithEID("EID-1")));
+        store.removeNotificationWithId(oldest.id());
+        assertEquals(middle.id(), idOf(store.notificationWithEID("EID-1")));
+        store.removeNotificationWithId(middle.id());
+        assertNull(store.notificationWithEID("EID-1"));
+    }
+
+    @Test
+    public void notifications_ShouldReturnNotificationsFromOldestToNewest() {
+        CENNotification first = notification("EID-1", 0);
+        CENNotification second = notification("EID-2", 0);
+        store.store(first);
+        store.store(second);
+
+        List<Map<String, Object>> notifications = store.notifications();
+
+        assertEquals(2, notifications.size());
+        assertEquals(first.id(), idOf(notifications.get(0)));
+        assertEquals(second.id(), idOf(notifications.get(1)));
+    }
+
+
+    @Test
+    public void store_ShouldEvictOldestNotificationsWhenCountLimitExceeded() {
+        store.setLimits(limits("maxCount", 3));
+        CENNotification[] notifications = storeNotifications(5);
+
+        assertEquals(3, store.count());
+        assertNull(store.notificationWithId(notifications[0].id()));
+        assertNull(store.notificationWithId(notifications[1].id()));
+        assertNull(store.notificationWithEID("EID-1"));
+        assertEquals(notifications[2].id(), idOf(store.notifications().get(0)));
+        assertEquals(notifications[4].id(), idOf(store.notifications().get(2)));
+    }
+
+    @Test
+    public void store_ShouldEvictOldestNotificationsWhenSizeLimitExceeded() {
+        CENNotification first = notification("EID-1", 0);
+        CENNotification second = notification("EID-2", 0);
+        int size = CENSerialization.toJSONString(first.toMap()).length();
+        store.setLimits(limits("maxBytes", (long) size + size / 2));
+        store.store(first);
+        store.store(second);
+
+        assertEquals(1, store.count());
+        assertNull(store.notificationWithId(first.id()));
+        assertNotNull(store.notificationWithId(second.id()));
+    }
+
+    @Test
+    public void store_ShouldEvictNotificationsOlderThanMaxAge() {
+        long now = System.currentTimeMillis();
+        store.setLimits(limits("maxAge", 60 * 60 * 1000L));
+        CENNotification outdated = notification("EID-1", now - 2 * 60 * 60 * 1000L);
+        CENNotification recent = notification("EID-2", now - 60 * 1000L);
+        store.store(outdated);
+        store.store(recent);
+
+        assertEquals(1, store.count());
+        assertNull(store.notificationWithEID("EID-1"));
+        assertNotNull(store.notificationWithEID("EID-2"));
+    }
+
+    @Test
+    public void store_ShouldEvictNotificationsWithExpiredTTL() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> expiredPayload = payload("EID-1", now - 10 * 1000L);
+        expiredPayload.put("ttl", 5);
+        Map<String, Object> livePayload = payload("EID-2", now - 10 * 1000L);
+        livePayload.put("ttl", 60);
+        store.store(new CENNotification(context, expiredPayload));
+        store.store(new CENNotification(context, livePayload));
+
+        assertEquals(1, store.count());
+        assertNull(store.notificationWithEID("EID-1"));
+        assertNotNull(store.notificationWithEID("EID-2"));
+    }
+
+    @Test
+    public void setLimits_ShouldEvictNotificationsRightAway() {
+        for (int i = 0; i < 4; i++)
+            store.store(notification("EID-" + i, 0));
+
+        store.setLimits(limits("maxCount", 1));
+
+        assertEquals(1, store.count());
+        assertNotNull(store.notificationWithEID("EID-3"));
+        assertEquals(1, store.limits().get("maxCount"));
+    }
+
+    @Test
+    public void notificationsPage_ShouldReturnNotificationsFromNewestToOldest() {
+        CENNotification[] notifications = storeNotifications(5);
+
+        CENDeliveredNotificationsStore.Page firstPage = store.notifications(null, 2, 0);
+        CENDeliveredNotificationsStore.Page secondPage = store.notifications(firstPage.cursor, 2, 0);
+        CENDeliveredNotificationsStore.Page lastPage = store.notifications(secondPage.cursor, 2, 0);
+
+        assertEquals(2, firstPage.notifications.size());
+        assertEquals(notifications[4].id(), idOf(firstPage.notifications.get(0)));
+        assertEquals(notifications[3].id(), idOf(firstPage.notifications.get(1)));
+        assertNotNull(firstPage.cursor);
+        assertEquals(notifications[2].id(), idOf(secondPage.notifications.get(0)));
+        assertEquals(notifications[1].id(), idOf(secondPage.notifications.get(1)));
+        assertNotNull(secondPage.cursor);
+        assertEquals(1, lastPage.notifications.size());
+        assertEquals(notifications[0].id(), idOf(lastPage.notifications.get(0)));
+        assertNull(lastPage.cursor);
+    }
+
+    @Test
+    public void notificationsPage_ShouldNotReturnCursorWhenAllNotificationsFitIntoPage() {
+        storeNotifications(2);
+
+        CENDeliveredNotificationsStore.Page page = store.notifications(null, 2, 0);
+
+        assertEquals(2, page.notifications.size());
+        assertEquals(2, page.dates.size());
+        assertNull(page.cursor);
+    }
+
+    @Test
+    public void notificationsPage_ShouldContinueFromCursorWhenCursorNotificationRemoved() {
+        CENNotification[] notifications = storeNotifications(4);
+
+        CENDeliveredNotificationsStore.Page firstPage = store.notifications(null, 2, 0);
+        store.removeNotificationWithId(notifications[2].id());
+        store.removeNotificationWithId(notifications[1].id());
+        CENDeliveredNotificationsStore.Page secondPage = store.notifications(firstPage.cursor, 2, 0);
+
+        assertEquals(1, secondPage.notifications.size());
+        assertEquals(notifications[0].id(), idOf(secondPage.notifications.get(0)));
+        assertNull(secondPage.cursor);
+    }
+
+    @Test
+    public void notificationsPage_ShouldReturnNotificationsSentSinceSpecifiedDate() {
+        long now = System.currentTimeMillis();
+        CENNotification outdated = notification("EID-1", now - 60 * 60 * 1000L);
+        CENNotification recent = notification("EID-2", now - 60 * 1000L);
+        CENNotification newest = notification("EID-3", now);
+        store.store(recent);
+        store.store(outdated);
+        store.store(newest);
+
+        CENDeliveredNotificationsStore.Page page = store.notifications(null, 10, now - 10 * 60 * 1000L);
+
+        assertEquals(2, page.notifications.size());
+        assertEquals(newest.id(), idOf(page.notifications.get(0)));
+        assertEquals(recent.id(), idOf(page.notifications.get(1)));
+        assertEquals(now - 60 * 1000L, (long) page.dates.get(1));
+        assertNull(page.cursor);
+    }
+
+    @Test
+    public void notificationsPage_ShouldReturnEmptyPageForEmptyStore() {
+        CENDeliveredNotificationsStore.Page page = store.notifications(null, 10, 0);
+
+        assertTrue(page.notifications.isEmpty());
+        assertNull(page.cursor);
+    }
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Helpers
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Create Chat Engine notification.
+     *
+     * @param eid Unique Chat Engine event identifier.
+     * @param sentTime Date (in milliseconds) when notification has been sent or '0' to use store date.
+     */
+    CENNotification notification(String eid, long sentTime) {
+        return new CENNotification(context, payload(eid, sentTime));
+    }
+
+    /**
+     * Create Chat Engine notification payload.
+     *
+     * @param eid Unique Chat Engine event identifier.
+     * @param sentTime Date (in milliseconds) when notification has been sent or '0' to use store date.
+     */
+    private static Map<String, Object> payload(String eid, long sentTime) {
+        Map<String, Object> cePayload = new HashMap<>();
+        cePayload.put("eid", eid);
+        cePayload.put("event", "message");
+        cePayload.put("chat", "chat-engine#chat#public.#general");
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("contentTitle", "PubNub");
+        payload.put("contentText", "Message for " + eid);
+        payload.put("cepayload", cePayload);
+        if (sentTime > 0)
+            payload.put("google.sent_time", sentTime);
+
+        return payload;
+    }
+
+    /**
+     * Store specified number of notifications (from oldest to newest).
+     *
+     * @param count Number of notifications which should be stored.
+     * @return List of stored notifications.
+     */
+    private CENNotification[] storeNotifications(int count) {
+        CENNotification[] notifications = new CENNotification[count];
+        for (int i = 0; i < count; i++) {
+            notifications[i] = notification("EID-" + i, 0);
+            store.store(notifications[i]);
+        }
+
+        return notifications;
+    }
+
+    private static Map<String, Object> limits(String name, Object value) {
+        Map<String, Object> limits = new HashMap<>();
+        limits.put(name, value);
+
+        return limits;
+    }
+
+    private static int idOf(Map<String, Object> notification) {
+        return CENNotificationsHelper.getInteger(notification.get("id"), 0);
+    }
+}
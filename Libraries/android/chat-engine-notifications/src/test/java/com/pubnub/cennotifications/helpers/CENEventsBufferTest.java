@@ -0,0 +1,112 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import android.content.Context;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CENEventsBufferTest {
+
+    private Context context;
+
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        CENNotificationsHelper.clearStoredEvents(context);
+    }
+
+    @After
+    public void tearDown() {
+        CENNotificationsHelper.clearStoredEvents(context);
+    }
+
+    @Test
+    public void storedEvents_ShouldReturnEventsInOrderInWhichTheyHasBeenStored() {
+        List<Integer> expected = storeEvents(150);
+
+        assertEquals(expected, indicesOf(CENNotificationsHelper.storedEvents(context)));
+    }
+
+    @Test
+    public void storeEvent_ShouldKeepBoundedNumberOfEventsInMemory() {
+        storeEvents(150);
+
+        assertTrue(CENEventsBuffer.events().size() <= 64);
+        assertEquals(150, CENNotificationsHelper.storedEvents(context).size());
+    }
+
+    @Test
+    public void spill_ShouldMoveBufferedEventsToStorageInOrder() {
+        List<Integer> expected = storeEvents(10);
+
+        CENEventsBuffer.spill(context);
+        expected.addAll(storeEvents(10, 5));
+
+        assertTrue(CENEventsBuffer.events().size() <= 5);
+        assertEquals(expected, indicesOf(CENNotificationsHelper.storedEvents(context)));
+    }
+
+    @Test
+    public void clearStoredEvents_ShouldRemoveBufferedAndPersistedEvents() {
+        storeEvents(100);
+
+        CENNotificationsHelper.clearStoredEvents(context);
+
+        assertTrue(CENEventsBuffer.events().isEmpty());
+        assertTrue(CENNotificationsHelper.storedEvents(context).isEmpty());
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Helpers
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private List<Integer> storeEvents(int count) {
+        return storeEvents(0, count);
+    }
+
+    /**
+     * Store specified number of events.
+     *
+     * @param start Index of first event.
+     * @param count Number of events which should be stored.
+     * @return List of stored events indices.
+     */
+    private List<Integer> storeEvents(int start, int count) {
+        List<Integer> indices = new ArrayList<>();
+
+        for (int idx = start; idx < start + count; idx++) {
+            Map<String, Object> event = new HashMap<>();
+            event.put("event", "CENReceivedRemoteNotification");
+            event.put("index", idx);
+
+            CENNotificationsHelper.storeEvent(context, event);
+            indices.add(idx);
+        }
+
+        return indices;
+    }
+
+    private static List<Integer> indicesOf(List<Map<String, Object>> events) {
+        List<Integer> indices = new ArrayList<>();
+        for (Map<String, Object> event : events)
+            indices.add((Integer) event.get("index"));
+
+        return indices;
+    }
+}
@@ -0,0 +1,150 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+
+public class CENJournalStorageTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(folder.getRoot(), "journal");
+    }
+
+    @Test
+    public void open_ShouldRestoreStoredRecords() {
+        CENJournalStorage storage = new CENJournalStorage(file);
+        storage.put("key1", "value1");
+        storage.put("key2", "value2");
+        storage.put("key1", "value3");
+        storage.put("key3", "value4");
+        storage.remove("key3");
+
+        CENJournalStorage restoredStorage = new CENJournalStorage(file);
+
+        assertEquals(Arrays.asList("key2", "key1"), restoredStorage.keys());
+        assertEquals("value3", restoredStorage.get("key1"));
+        assertEquals("value2", restoredStorage.get("key2"));
+        assertFalse(restoredStorage.contains("key3"));
+        assertNull(restoredStorage.get("key3"));
+    }
+
+    @Test
+    public void open_ShouldDiscardIncompleteTrailingRecord() throws IOException {
+        CENJournalStorage storage = new CENJournalStorage(file);
+        storage.put("key1", "value1");
+        long completeLength = file.length();
+        storage.put("key2", "value2");
+        truncate(file, file.length() - 3);
+
+        CENJournalStorage restoredStorage = new CENJournalStorage(file);
+
+        assertEquals(completeLength, file.length());
+        assertEquals(Arrays.asList("key1"), restoredStorage.keys());
+        assertEquals("value1", restoredStorage.get("key1"));
+        assertNull(restoredStorage.get("key2"));
+
+        restoredStorage.put("key3", "value3");
+        CENJournalStorage reopenedStorage = new CENJournalStorage(file);
+
+        assertEquals(Arrays.asList("key1", "key3"), reopenedStorage.keys());
+        assertEquals("value3", reopenedStorage.get("key3"));
+    }
+
+    @Test
+    public void open_ShouldDiscardTrailingRecordWithIncompleteHeader() throws IOException {
+        CENJournalStorage storage = new CENJournalStorage(file);
+        storage.put("key1", "value1");
+        long completeLength = file.length();
+        storage.put("key2", "value2");
+        truncate(file, completeLength + 2);
+
+        CENJournalStorage restoredStorage = new CENJournalStorage(file);
+
+        assertEquals(completeLength, file.length());
+        assertEquals(Arrays.asList("key1"), restoredStorage.keys());
+    }
+
+    @Test
+    public void put_ShouldCompactJournalWhenGarbageExceedLiveRecords() {
+        CENJournalStorage storage = new CENJournalStorage(file);
+        String value = value(1024);
+        storage.put("key1", "value1");
+        for (int i = 0; i < 40; i++)
+            storage.put("key2", value + i);
+
+        assertTrue(file.length() < 16 * 1024);
+        assertEquals(Arrays.asList("key1", "key2"), storage.keys());
+        assertEquals("value1", storage.get("key1"));
+        assertEquals(value + 39, storage.get("key2"));
+        assertFalse(new File(file.getPath() + ".compact").exists());
+
+        CENJournalStorage restoredStorage = new CENJournalStorage(file);
+        assertEquals(value + 39, restoredStorage.get("key2"));
+    }
+
+    @Test
+    public void open_ShouldCompactJournalWhenGarbageExceedThreshold() {
+        CENJournalStorage storage = new CENJournalStorage(file);
+        String value = value(1024);
+        storage.put("key1", value(48 * 1024));
+        for (int i = 0; i < 40; i++)
+            storage.put("key2", value + i);
+        long uncompactedLength = file.length();
+
+        CENJournalStorage restoredStorage = new CENJournalStorage(file);
+
+        assertTrue(uncompactedLength > 88 * 1024);
+        assertTrue(file.length() < 52 * 1024);
+        assertEquals(value(48 * 1024), restoredStorage.get("key1"));
+        assertEquals(value + 39, restoredStorage.get("key2"));
+    }
+
+    @Test
+    public void clear_ShouldRemoveAllRecords() {
+        CENJournalStorage storage = new CENJournalStorage(file);
+        storage.put("key1", "value1");
+        storage.clear();
+
+        assertEquals(0, file.length());
+        assertTrue(storage.keys().isEmpty());
+        assertTrue(new CENJournalStorage(file).keys().isEmpty());
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Helpers
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static String value(int length) {
+        char[] value = new char[length];
+        Arrays.fill(value, 'v');
+
+        return new String(value);
+    }
+
+    private static void truncate(File file, long length) throws IOException {
+        RandomAccessFile journal = new RandomAccessFile(file, "rw");
+
+        try {
+            journal.setLength(length);
+        } finally {
+            journal.close();
+        }
+    }
+}
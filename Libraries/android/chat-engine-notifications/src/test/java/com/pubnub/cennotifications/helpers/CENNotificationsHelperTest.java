@@ -0,0 +1,192 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import com.pubnub.cennotifications.models.CENNotification;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CENNotificationsHelperTest {
+
+    private Context context;
+
+    private CENDeliveredNotificationsStore store;
+
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        store = CENDeliveredNotificationsStore.sharedInstance(context);
+        store.clear();
+    }
+
+    @Test
+    public void notificationPayload_ShouldReturnStoredNotification() {
+        CENNotification notification = notification("EID-1", true);
+        store.store(notification);
+        Intent intent = new Intent();
+        CENNotificationsHelper.putNotificationReference(intent, notification, "reply");
+
+        Map<String, Object> payload = CENNotificationsHelper.notificationPayload(context, intent);
+
+        assertNotNull(payload);
+        assertEquals("reply", payload.get("action"));
+        Map notificationPayload = (Map) payload.get("notification");
+        assertEquals(notification.id(), notificationPayload.get("id"));
+        assertEquals("Message for EID-1", notificationPayload.get("contentText"));
+    }
+
+    @Test
+    public void notificationPayload_ShouldFindNotificationByEIDWhenIdentifierNotFound() {
+        CENNotification shownNotification = notification("EID-1", true);
+        CENNotification storedNotification = notification("EID-1", true);
+        store.store(storedNotification);
+        Intent intent = new Intent();
+        CENNotificationsHelper.putNotificationReference(intent, shownNotification, null);
+
+        Map<String, Object> payload = CENNotificationsHelper.notificationPayload(context, intent);
+
+        assertNotNull(payload);
+        assertFalse(payload.containsKey("action"));
+        assertEquals(storedNotification.id(), ((Map) payload.get("notification")).get("id"));
+    }
+
+    @Test
+    public void notificationPayload_ShouldReturnReducedNotificationWhenNotStored() {
+        CENNotification notification = notification("EID-1", true);
+        Intent intent = new Intent();
+        CENNotificationsHelper.putNotificationReference(intent, notification, "reply");
+
+        Map<String, Object> payload = CENNotificationsHelper.notificationPayload(context, intent);
+
+        assertNotNull(payload);
+        assertEquals("reply", payload.get("action"));
+        Map notificationPayload = (Map) payload.get("notification");
+        assertEquals(notification.id(), notificationPayload.get("id"));
+        assertEquals(Collections.singletonMap("eid", "EID-1"), notificationPayload.get("cepayload"));
+        assertFalse(notificationPayload.containsKey("contentText"));
+    }
+
+    @Test
+    public void notificationPayload_ShouldReturnReducedNotificationWhenNotStoredNotificationDoesNotHaveEID() {
+        CENNotification notification = notification(null, false);
+        Intent intent = new Intent();
+        CENNotificationsHelper.putNotificationReference(intent, notification, null);
+
+        Map<String, Object> payload = CENNotificationsHelper.notificationPayload(context, intent);
+
+        assertNotNull(payload);
+        Map notificationPayload = (Map) payload.get("notification");
+        assertEquals(notification.id(), notificationPayload.get("id"));
+        assertTrue(((Map) notificationPayload.get("cepayload")).isEmpty());
+    }
+
+    @Test
+    public void putNotificationReference_ShouldNotStoreNotificationPayloadInIntent() {
+        Intent intent = new Intent();
+        CENNotificationsHelper.putNotificationReference(intent, notification("EID-1", true), "reply", new int[]{ 1 });
+
+        Bundle reference = intent.getBundleExtra("notificationReference");
+
+        assertNotNull(reference);
+        assertEquals(new HashSet<>(Arrays.asList("id", "eid", "action", "mergedIds")), reference.keySet());
+        assertFalse(intent.hasExtra("notification"));
+    }
+
+    @Test
+    public void notificationPayload_ShouldReturnPayloadFromLegacyIntent() {
+        Map<String, Object> notificationPayload = new HashMap<>();
+        notificationPayload.put("contentText", "Message");
+        Map<String, Object> intentPayload = new HashMap<>();
+        intentPayload.put("notification", notificationPayload);
+        Intent intent = new Intent();
+        intent.putExtra("notification", CENCollections.bundleFrom(intentPayload));
+
+        Map<String, Object> payload = CENNotificationsHelper.notificationPayload(context, intent);
+
+        assertNotNull(payload);
+        assertEquals("Message", ((Map) payload.get("notification")).get("contentText"));
+    }
+
+    @Test
+    public void notificationPayload_ShouldReturnNullForIntentWithoutNotification() {
+        Intent intent = new Intent();
+        intent.putExtra("notification", new Bundle());
+
+        assertNull(CENNotificationsHelper.notificationPayload(context, new Intent()));
+        assertNull(CENNotificationsHelper.notificationPayload(context, intent));
+    }
+
+    @Test
+    public void removeMergedNotifications_ShouldRemoveMergedNotificationsFromStore() {
+        CENNotification first = notification("EID-1", true);
+        CENNotification second = notification("EID-2", true);
+        CENNotification third = notification("EID-3", true);
+        store.store(first);
+        store.store(second);
+        store.store(third);
+        Intent intent = new Intent();
+        CENNotificationsHelper.putNotificationReference(intent, third, null, new int[]{ first.id(), second.id() });
+
+        CENNotificationsHelper.removeMergedNotifications(context, intent);
+
+        assertNull(store.notificationWithId(first.id()));
+        assertNull(store.notificationWithId(second.id()));
+        assertNotNull(store.notificationWithId(third.id()));
+    }
+
+    @Test
+    public void removeMergedNotifications_ShouldIgnoreIntentWithoutMergedNotifications() {
+        CENNotification notification = notification("EID-1", true);
+        store.store(notification);
+        Intent intent = new Intent();
+        CENNotificationsHelper.putNotificationReference(intent, notification, null);
+
+        CENNotificationsHelper.removeMergedNotifications(context, intent);
+        CENNotificationsHelper.removeMergedNotifications(context, new Intent());
+
+        assertEquals(1, store.count());
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Helpers
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Create notification.
+     *
+     * @param eid Unique Chat Engine event identifier.
+     * @param withChatEnginePayload Whether notification should have Chat Engine payload or not.
+     */
+    private CENNotification notification(String eid, boolean withChatEnginePayload) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("contentTitle", "PubNub");
+        payload.put("contentText", "Message for " + eid);
+
+        if (withChatEnginePayload) {
+            Map<String, Object> cePayload = new HashMap<>();
+            cePayload.put("eid", eid);
+            cePayload.put("event", "message");
+            payload.put("cepayload", cePayload);
+        }
+
+        return new CENNotification(context, payload);
+    }
+}
@@ -0,0 +1,246 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import android.app.Activity;
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.PackageManager;
+import android.os.Bundle;
+import android.os.SystemClock;
+import com.pubnub.cennotifications.models.CENNotification;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.shadows.ShadowNotificationManager;
+import org.robolectric.shadows.ShadowPackageManager;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CENNotificationsPosterTest {
+
+    private Context context;
+
+    private ShadowNotificationManager notificationManager;
+
+
+    @Before
+    public void setUp() throws PackageManager.NameNotFoundException {
+        context = RuntimeEnvironment.application;
+        notificationManager = shadowOf((NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE));
+        registerLauncherActivity(context);
+        CENNotificationsPoster.clear();
+    }
+
+    @Test
+    public void post_ShouldPostNotificationWithoutCoalescingKeyRightAway() {
+        CENNotification first = notification(null, null, "Message 1");
+        CENNotification second = notification(null, null, "Message 2");
+
+        CENNotificationsPoster.post(context, first, null);
+        CENNotificationsPoster.post(context, second, null);
+
+        assertEquals(2, notificationManager.size());
+        assertNotNull(notificationManager.getNotification(first.id()));
+        assertNotNull(notificationManager.getNotification(second.id()));
+    }
+
+    @Test
+    public void post_ShouldMergeNotificationsWithSameTagIntoFirstNotification() {
+        CENNotification first = notification("burst", null, "Message 1");
+        CENNotification second = notification("burst", null, "Message 2");
+        CENNotification third = notification("burst", null, "Message 3");
+
+        CENNotificationsPoster.post(context, first, null);
+        CENNotificationsPoster.post(context, second, null);
+        CENNotificationsPoster.post(context, third, null);
+        flushUpdates();
+
+        assertEquals(1, notificationManager.size());
+        Notification notification = notificationManager.getNotification("burst", first.id());
+        assertNotNull(notification);
+        assertEquals(3, notification.number);
+        CharSequence[] lines = notification.extras.getCharSequenceArray(Notification.EXTRA_TEXT_LINES);
+        assertEquals(Arrays.asList("Message 1", "Message 2", "Message 3"), Arrays.asList(stringsFrom(lines)));
+    }
+
+    @Test
+    public void post_ShouldPrefixMergedGroupLinesWithTitle() {
+        CENNotification first = notification(null, "group", "Message 1");
+        CENNotification second = notification(null, "group", "Message 2");
+
+        CENNotificationsPoster.post(context, first, null);
+        CENNotificationsPoster.post(context, second, null);
+        flushUpdates();
+
+        Notification notification = notificationManager.getNotification(first.id());
+        assertNotNull(notification);
+        CharSequence[] lines = notification.extras.getCharSequenceArray(Notification.EXTRA_TEXT_LINES);
+        assertEquals(Arrays.asList("PubNub: Message 1", "PubNub: Message 2"), Arrays.asList(stringsFrom(lines)));
+    }
+
+    @Test
+    public void post_ShouldPostMergedNotificationUpdateWithoutWaiting() {
+        CENNotification first = notification("trailing", null, "Message 1");
+        long start = SystemClock.elapsedRealtime();
+
+        CENNotificationsPoster.post(context, first, null);
+        CENNotificationsPoster.post(context, notification("trailing", null, "Message 2"), null);
+        CENNotificationsPoster.post(context, notification("trailing", null, "Message 3"), null);
+
+        assertEquals(start, SystemClock.elapsedRealtime());
+        assertEquals(0, notificationManager.getNotification("trailing", first.id()).number);
+
+        flushUpdates();
+
+        assertEquals(1, notificationManager.size());
+        assertEquals(3, notificationManager.getNotification("trailing", first.id()).number);
+    }
+
+    @Test
+    public void post_ShouldMergeNotificationsWhichArriveAfterUpdateIntoNextUpdate() {
+        CENNotification first = notification("updates", null, "Message 1");
+        CENNotificationsPoster.post(context, first, null);
+        CENNotificationsPoster.post(context, notification("updates", null, "Message 2"), null);
+        flushUpdates();
+
+        CENNotificationsPoster.post(context, notification("updates", null, "Message 3"), null);
+        assertEquals(2, notificationManager.getNotification("updates", first.id()).number);
+        flushUpdates();
+
+        assertEquals(1, notificationManager.size());
+        assertEquals(3, notificationManager.getNotification("updates", first.id()).number);
+    }
+
+    @Test
+    public void post_ShouldStartNewBurstAfterCoalescingWindow() {
+        CENNotification first = notification("window", null, "Message 1");
+        CENNotification second = notification("window", null, "Message 2");
+
+        CENNotificationsPoster.post(context, first, null);
+        SystemClock.sleep(1000);
+        CENNotificationsPoster.post(context, second, null);
+
+        assertEquals(2, notificationManager.size());
+        assertEquals(0, notificationManager.getNotification("window", first.id()).number);
+        assertEquals(0, notificationManager.getNotification("window", second.id()).number);
+    }
+
+    @Test
+    public void post_ShouldReferenceMergedNotificationsFromDeleteIntent() {
+        CENNotification first = notification("references", null, "Message 1");
+        CENNotification second = notification("references", null, "Message 2");
+        CENNotification third = notification("references", null, "Message 3");
+
+        CENNotificationsPoster.post(context, first, null);
+        CENNotificationsPoster.post(context, second, null);
+        CENNotificationsPoster.post(context, third, null);
+        flushUpdates();
+
+        Notification notification = notificationManager.getNotification("references", first.id());
+        Intent deleteIntent = shadowOf(notification.deleteIntent).getSavedIntent();
+        Bundle reference = deleteIntent.getBundleExtra("notificationReference");
+        assertEquals(third.id(), reference.getInt("id"));
+        assertArrayEquals(new int[]{ first.id(), second.id() }, reference.getIntArray("mergedIds"));
+    }
+
+    @Test
+    public void cancel_ShouldCancelMergedNotificationAndReturnOtherMergedIdentifiers() {
+        CENNotification first = notification("cancel", null, "Message 1");
+        CENNotification second = notification("cancel", null, "Message 2");
+        CENNotificationsPoster.post(context, first, null);
+        CENNotificationsPoster.post(context, second, null);
+
+        List<Integer> cancelledIds = CENNotificationsPoster.cancel(context, second.id());
+        flushUpdates();
+
+        assertEquals(Arrays.asList(first.id()), cancelledIds);
+        assertEquals(0, notificationManager.size());
+        assertTrue(CENNotificationsPoster.cancel(context, first.id()).isEmpty());
+    }
+
+    @Test
+    public void cancel_ShouldStartNewBurstAfterMergedNotificationCancelled() {
+        CENNotification first = notification("restart", null, "Message 1");
+        CENNotification second = notification("restart", null, "Message 2");
+        CENNotificationsPoster.post(context, first, null);
+        CENNotificationsPoster.cancel(context, first.id());
+
+        CENNotificationsPoster.post(context, second, null);
+
+        assertEquals(1, notificationManager.size());
+        assertNotNull(notificationManager.getNotification("restart", second.id()));
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Helpers
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Register activity which will be used by notifications as launcher activity.
+     *
+     * @param context Reference on execution context.
+     */
+    static void registerLauncherActivity(Context context) throws PackageManager.NameNotFoundException {
+        ShadowPackageManager packageManager = shadowOf(context.getPackageManager());
+        ComponentName activity = new ComponentName(context.getPackageName(), Activity.class.getName());
+        IntentFilter filter = new IntentFilter(Intent.ACTION_MAIN);
+        filter.addCategory(Intent.CATEGORY_LAUNCHER);
+
+        packageManager.addActivityIfNotPresent(activity);
+        packageManager.addIntentFilterForActivity(activity, filter);
+    }
+
+    /**
+     * Run scheduled merged notifications updates.
+     */
+    private static void flushUpdates() {
+        ShadowLooper.idleMainLooper(250, TimeUnit.MILLISECONDS);
+        CENNotificationsQueue.executeAndWait(new Runnable() {
+            @Override
+            public void run() {}
+        }, 5000);
+    }
+
+    private CENNotification notification(String tag, String group, String message) {
+        Map<String, Object> cePayload = new HashMap<>();
+        cePayload.put("eid", "EID-" + message);
+        cePayload.put("event", "message");
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("contentTitle", "PubNub");
+        payload.put("contentText", message);
+        payload.put("cepayload", cePayload);
+        if (tag != null)
+            payload.put("tag", tag);
+        if (group != null)
+            payload.put("group", group);
+
+        return new CENNotification(context, payload);
+    }
+
+    private static String[] stringsFrom(CharSequence[] sequences) {
+        String[] strings = new String[sequences.length];
+        for (int idx = 0; idx < sequences.length; idx++)
+            strings[idx] = sequences[idx].toString();
+
+        return strings;
+    }
+}
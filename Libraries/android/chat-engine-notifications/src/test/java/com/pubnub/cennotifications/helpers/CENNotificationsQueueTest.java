@@ -0,0 +1,190 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CENNotificationsQueueTest {
+
+    private static final long TIMEOUT = 5000;
+
+
+    @Test
+    public void execute_ShouldRunTasksInSchedulingOrder() {
+        final List<Integer> executed = Collections.synchronizedList(new ArrayList<Integer>());
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            final int taskIdx = i;
+            expected.add(taskIdx);
+            CENNotificationsQueue.execute(new Runnable() {
+                @Override
+                public void run() {
+                    executed.add(taskIdx);
+                }
+            });
+        }
+
+        assertTrue(CENNotificationsQueue.executeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                executed.add(-1);
+            }
+        }, TIMEOUT));
+        expected.add(-1);
+
+        assertEquals(expected, executed);
+    }
+
+    @Test
+    public void executeAndWait_ShouldRunTaskOnWorkerThread() {
+        final AtomicReference<Thread> executionThread = new AtomicReference<>();
+
+        assertTrue(CENNotificationsQueue.executeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                executionThread.set(Thread.currentThread());
+            }
+        }, TIMEOUT));
+
+        assertNotNull(executionThread.get());
+        assertNotSame(Thread.currentThread(), executionThread.get());
+        assertEquals("CENNotifications", executionThread.get().getName());
+    }
+
+    @Test
+    public void executeAndWait_ShouldRunNestedTaskInline() throws InterruptedException {
+        final AtomicBoolean nestedExecuted = new AtomicBoolean(false);
+        final AtomicBoolean nestedCompleted = new AtomicBoolean(false);
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        CENNotificationsQueue.execute(new Runnable() {
+            @Override
+            public void run() {
+                nestedCompleted.set(CENNotificationsQueue.executeAndWait(new Runnable() {
+                    @Override
+                    public void run() {
+                        nestedExecuted.set(true);
+                    }
+                }, 100));
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertTrue(nestedExecuted.get());
+        assertTrue(nestedCompleted.get());
+    }
+
+    @Test
+    public void executeAndWait_ShouldReturnFalseWhenTaskNotCompletedInTime() throws InterruptedException {
+        final CountDownLatch blockingLatch = new CountDownLatch(1);
+        final AtomicBoolean executed = new AtomicBoolean(false);
+
+        CENNotificationsQueue.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blockingLatch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ignored) {}
+            }
+        });
+
+        assertFalse(CENNotificationsQueue.executeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                executed.set(true);
+            }
+        }, 50));
+        assertFalse(executed.get());
+
+        blockingLatch.countDown();
+        assertTrue(CENNotificationsQueue.executeAndWait(new Runnable() {
+            @Override
+            public void run() {}
+        }, TIMEOUT));
+        assertTrue(executed.get());
+    }
+
+    @Test
+    public void execute_ShouldRunTaskOnMainThreadWhenQueueIsFull() throws InterruptedException {
+        final CountDownLatch blockingLatch = new CountDownLatch(1);
+        final CountDownLatch startedLatch = new CountDownLatch(1);
+        final AtomicReference<Thread> executionThread = new AtomicReference<>();
+
+        CENNotificationsQueue.execute(new Runnable() {
+            @Override
+            public void run() {
+                startedLatch.countDown();
+                try {
+                    blockingLatch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ignored) {}
+            }
+        });
+        assertTrue(startedLatch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 128; i++) {
+            CENNotificationsQueue.execute(new Runnable() {
+                @Override
+                public void run() {}
+            });
+        }
+
+        CENNotificationsQueue.execute(new Runnable() {
+            @Override
+            public void run() {
+                executionThread.set(Thread.currentThread());
+            }
+        });
+        blockingLatch.countDown();
+
+        assertSame(Thread.currentThread(), executionThread.get());
+        assertTrue(CENNotificationsQueue.executeAndWait(new Runnable() {
+            @Override
+            public void run() {}
+        }, TIMEOUT));
+    }
+
+    @Test
+    public void execute_ShouldKeepOrderWhenBackgroundCallerOverflowQueue() throws InterruptedException {
+        final List<Integer> executed = Collections.synchronizedList(new ArrayList<Integer>());
+        final List<Integer> expected = new ArrayList<>();
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 500; i++) {
+                    final int taskIdx = i;
+                    expected.add(taskIdx);
+                    CENNotificationsQueue.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            executed.add(taskIdx);
+                        }
+                    });
+                }
+            }
+        });
+
+        producer.start();
+        producer.join(TIMEOUT);
+        assertTrue(CENNotificationsQueue.executeAndWait(new Runnable() {
+            @Override
+            public void run() {}
+        }, TIMEOUT));
+
+        assertEquals(expected, executed);
+    }
+}
@@ -0,0 +1,109 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import android.content.Context;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CENRecentMessagesTest {
+
+    private Context context;
+
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void isDuplicate_ShouldNotRememberCheckedIdentifiers() {
+        assertFalse(CENRecentMessages.isDuplicateMessage(context, "check-message"));
+        assertFalse(CENRecentMessages.isDuplicateEvent(context, "check-eid"));
+
+        assertFalse(CENRecentMessages.isDuplicateMessage(context, "check-message"));
+        assertFalse(CENRecentMessages.isDuplicateEvent(context, "check-eid"));
+    }
+
+    @Test
+    public void remember_ShouldMarkMessageAndEventAsDuplicates() {
+        CENRecentMessages.remember(context, "remember-message", "Remember-EID");
+
+        assertTrue(CENRecentMessages.isDuplicateMessage(context, "remember-message"));
+        assertTrue(CENRecentMessages.isDuplicateEvent(context, "remember-eid"));
+        assertFalse(CENRecentMessages.isDuplicateEvent(context, "remember-message"));
+        assertFalse(CENRecentMessages.isDuplicateMessage(context, "Remember-EID"));
+    }
+
+    @Test
+    public void remember_ShouldIgnoreMissingIdentifiers() {
+        CENRecentMessages.remember(context, null, "");
+        CENRecentMessages.remember(context, "", null);
+
+        assertFalse(CENRecentMessages.isDuplicateMessage(context, null));
+        assertFalse(CENRecentMessages.isDuplicateMessage(context, ""));
+        assertFalse(CENRecentMessages.isDuplicateEvent(context, null));
+        assertFalse(CENRecentMessages.isDuplicateEvent(context, ""));
+    }
+
+    @Test
+    public void remember_ShouldPersistEachRememberedIdentifier() {
+        CENRecentMessages.remember(context, "persisted-message", "Persisted-EID");
+
+        List<String> keys = storage().keys();
+        assertEquals(Arrays.asList("id:persisted-message", "eid:persisted-eid"), keys.subList(keys.size() - 2,
+                keys.size()));
+    }
+
+    @Test
+    public void remember_ShouldPersistIdentifierAsMostRecentlySeenWhenRememberedAgain() {
+        CENRecentMessages.remember(context, "repeated-message", null);
+        CENRecentMessages.remember(context, "other-message", null);
+
+        CENRecentMessages.remember(context, "repeated-message", null);
+
+        List<String> keys = storage().keys();
+        assertEquals("id:repeated-message", keys.get(keys.size() - 1));
+        assertEquals(1, Collections.frequency(keys, "id:repeated-message"));
+    }
+
+    @Test
+    public void remember_ShouldEvictLeastRecentlySeenIdentifiers() {
+        CENRecentMessages.remember(context, "evicted-message", null);
+        CENRecentMessages.remember(context, "kept-message", null);
+        for (int i = 0; i < 498; i++) {
+            CENRecentMessages.remember(context, "filler-message-" + i, null);
+            if (i % 100 == 0)
+                CENRecentMessages.remember(context, "kept-message", null);
+        }
+
+        CENRecentMessages.remember(context, "newest-message", null);
+
+        assertFalse(CENRecentMessages.isDuplicateMessage(context, "evicted-message"));
+        assertTrue(CENRecentMessages.isDuplicateMessage(context, "kept-message"));
+        assertTrue(CENRecentMessages.isDuplicateMessage(context, "newest-message"));
+        assertFalse(storage().contains("id:evicted-message"));
+        assertTrue(storage().contains("id:kept-message"));
+        assertTrue(storage().keys().size() <= 500);
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Helpers
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private CENStorage storage() {
+        return CENNotificationsHelper.storage(context, "@CENNotifications:recentMessages");
+    }
+}
@@ -0,0 +1,94 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import android.content.Context;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CENSequenceTest {
+
+    private Context context;
+
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void nextKey_ShouldReturnZeroPaddedKeysInCreationOrder() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 250; i++)
+            keys.add(CENSequence.nextKey(context, "ordered"));
+
+        List<String> sortedKeys = new ArrayList<>(keys);
+        Collections.sort(sortedKeys);
+
+        assertEquals("0000000000000000000", keys.get(0));
+        assertEquals("0000000000000000249", keys.get(249));
+        assertEquals(keys, sortedKeys);
+        for (String key : keys)
+            assertEquals(19, key.length());
+    }
+
+    @Test
+    public void nextKey_ShouldPersistReservedBlock() {
+        CENSequence.nextKey(context, "reserved");
+        assertEquals(100, reservation("reserved"));
+
+        for (int i = 0; i < 100; i++)
+            CENSequence.nextKey(context, "reserved");
+        assertEquals(200, reservation("reserved"));
+    }
+
+    @Test
+    public void nextKey_ShouldContinueAfterPreviouslyReservedBlock() {
+        CENNotificationsHelper.settingsStorage(context).edit()
+                .putLong("@CENNotifications:sequence:restored", 500)
+                .commit();
+
+        assertEquals("0000000000000000500", CENSequence.nextKey(context, "restored"));
+        assertEquals("0000000000000000501", CENSequence.nextKey(context, "restored"));
+        assertEquals(600, reservation("restored"));
+    }
+
+    @Test
+    public void nextKey_ShouldKeepSeparateSequenceForEachName() {
+        assertEquals("0000000000000000000", CENSequence.nextKey(context, "first"));
+        assertEquals("0000000000000000000", CENSequence.nextKey(context, "second"));
+        assertEquals("0000000000000000001", CENSequence.nextKey(context, "first"));
+    }
+
+    @Test
+    public void keysOrder_ShouldPlaceLegacyKeysBeforeZeroPaddedKeys() {
+        List<String> keys = new ArrayList<>(Arrays.asList("0000000000000000002", "10", "0000000000000000000", "9",
+                "1234567890123", "2"));
+
+        Collections.sort(keys, CENSequence.KEYS_ORDER);
+
+        assertEquals(Arrays.asList("2", "9", "10", "1234567890123", "0000000000000000000", "0000000000000000002"),
+                keys);
+    }
+
+
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+    // Helpers
+    /////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private long reservation(String name) {
+        return CENNotificationsHelper.settingsStorage(context).getLong("@CENNotifications:sequence:" + name, -1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.pubnub.cennotifications.helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CENSerializationTest {
+
+    @Test
+    public void toObject_ShouldKeepNullValues() {
+        Map map = (Map) CENSerialization.toObject("{\"key1\":null,\"key2\":[null,1,null]}");
+
+        assertNotNull(map);
+        assertTrue(map.containsKey("key1"));
+        assertNull(map.get("key1"));
+        assertEquals(Arrays.asList(null, 1, null), map.get("key2"));
+    }
+
+    @Test
+    public void toObject_ShouldDecodeNumbersToNarrowestType() {
+        List list = (List) CENSerialization.toObject("[0,-1,2147483647,2147483648,-2147483649,1.5,1e3,-0.25]");
+
+        assertNotNull(list);
+        assertEquals(0, list.get(0));
+        assertEquals(-1, list.get(1));
+        assertEquals(Integer.MAX_VALUE, list.get(2));
+        assertEquals(2147483648L, list.get(3));
+        assertEquals(-2147483649L, list.get(4));
+        assertEquals(1.5, list.get(5));
+        assertEquals(1000.0, list.get(6));
+        assertEquals(-0.25, list.get(7));
+    }
+
+    @Test
+    public void toObject_ShouldKeepLargeIntegralNumbersPrecision() {
+        List list = (List) CENSerialization.toObject("[1000000000000000001,9223372036854775807,-9223372036854775808]");
+
+        assertNotNull(list);
+        assertEquals(1000000000000000001L, list.get(0));
+        assertEquals(Long.MAX_VALUE, list.get(1));
+        assertEquals(Long.MIN_VALUE, list.get(2));
+    }
+
+    @Test
+    public void toObject_ShouldDecodeIntegralNumbersWhichDoesNotFitLongAsDouble() {
+        List list = (List) CENSerialization.toObject("[92233720368547758070]");
+
+        assertNotNull(list);
+        assertEquals(9.223372036854776E19, list.get(0));
+    }
+
+    @Test
+    public void toObject_ShouldDecodeNestedArrays() {
+        Map map = (Map) CENSerialization.toObject("{\"matrix\":[[1,2],[],[[\"a\",{\"b\":[true,false]}]]]}");
+
+        assertNotNull(map);
+        List matrix = (List) map.get("matrix");
+        assertEquals(3, matrix.size());
+        assertEquals(Arrays.asList(1, 2), matrix.get(0));
+        assertEquals(new ArrayList(), matrix.get(1));
+        List nested = (List) ((List) matrix.get(2)).get(0);
+        assertEquals("a", nested.get(0));
+        assertEquals(Arrays.asList(true, false), ((Map) nested.get(1)).get("b"));
+    }
+
+    @Test
+    public void toObject_ShouldReturnNullForNonCollectionJSON() {
+        assertNull(CENSerialization.toObject("\"string\"", false));
+        assertNull(CENSerialization.toObject("1", false));
+        assertNull(CENSerialization.toObject("", false));
+        assertNull(CENSerialization.toObject(null, false));
+    }
+
+    @Test
+    public void toObject_ShouldReturnNullForMalformedJSON() {
+        assertNull(CENSerialization.toObject("{\"key\":", false));
+        assertNull(CENSerialization.toObject("[1,2", false));
+    }
+
+    @Test
+    public void toJSONString_ShouldProduceJSONWhichCanBeDecodedBack() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("string", "value \"quoted\"");
+        payload.put("large", Long.MAX_VALUE);
+        payload.put("list", Arrays.asList(1, Arrays.asList("nested", 2.5)));
+
+        Map decoded = (Map) CENSerialization.toObject(CENSerialization.toJSONString(payload));
+
+        assertEquals(payload, decoded);
+    }
+}
@@ -104,7 +104,7 @@ export class CENotificationsExtension extends ChatEnginePlugin {
          * @type {CENotifications}
          * @private
          */
-        this.notifications = new CENotifications();
+        this.notifications = new CENotifications({ batchedReplay: configuration.batchedReplay === true });
         /** @public */
         this.notifications.enable = this.enable.bind(this);
         /** @public */
@@ -522,6 +522,11 @@ export class CENotificationsExtension extends ChatEnginePlugin {
             throwError(new TypeError('Unexpected formatter: has unexpected data type (function expected).'));
             return false;
         }
+
+        if (TypeValidator.isDefined(configuration.batchedReplay) && !TypeValidator.isTypeOf(configuration.batchedReplay, Boolean)) {
+            throwError(new TypeError('Unexpected batchedReplay: has unexpected data type (boolean expected).'));
+            return false;
+        }
         return true;
     }
 
@@ -28,8 +28,10 @@ export default class CENotifications extends EventEmitter2 {
 
     /**
      * Create and configure chat engine notifications handler and represented.
+     *
+     * @param {CENotificationsOptions} [options] - Notifications handler configuration options.
      */
-    constructor() {
+    constructor(options = {}) {
         super({ newListener: false, maxListeners: 50, verboseMemoryLeak: true });
 
         /**
@@ -49,8 +51,16 @@ export default class CENotifications extends EventEmitter2 {
         /**
          * Inform native module, what React Native part is ready and would like to receive any missed events.
          * We give some delay, so user will have time to subscribe on emitted events.
+         * Android module deliver missed remote notifications in batches only if it has been explicitly requested.
          */
-        setTimeout(() => CENNotifications.receiveMissedEvents(), 1000);
+        setTimeout(() => {
+            if (Platform.OS === 'android' && options.batchedReplay === true
+                && TypeValidator.isTypeOf(CENNotifications.receiveMissedEventsBatched, 'function')) {
+                CENNotifications.receiveMissedEventsBatched(null);
+            } else {
+                CENNotifications.receiveMissedEvents();
+            }
+        }, 1000);
     }
 
     /**
@@ -62,6 +72,7 @@ export default class CENotifications extends EventEmitter2 {
         DeviceEventEmitter.removeAllListeners('CENRegistered');
         DeviceEventEmitter.removeAllListeners('CENFailedToRegister');
         DeviceEventEmitter.removeAllListeners('CENReceivedRemoteNotification');
+        DeviceEventEmitter.removeAllListeners('CENReceivedRemoteNotifications');
     }
 
     /**
@@ -355,6 +366,7 @@ export default class CENotifications extends EventEmitter2 {
         DeviceEventEmitter.addListener('CENRegistered', event => this.onRegister(event));
         DeviceEventEmitter.addListener('CENFailedToRegister', event => this.onRegistrationFail(event));
         DeviceEventEmitter.addListener('CENReceivedRemoteNotification', event => this.onNotification(event));
+        DeviceEventEmitter.addListener('CENReceivedRemoteNotifications', events => this.onNotifications(events));
     }
 
     /**
@@ -411,4 +423,24 @@ export default class CENotifications extends EventEmitter2 {
         }
         this.emit('$notifications.received', payload);
     }
+
+    /**
+     * Handle batch of push notifications which has been received while React Native part has been loaded
+     * (**Android only**).
+     *
+     * @param {CENNotificationPayload[]} payloads - List of objects which contain information about
+     *     pushed data.
+     * @emits {$notifications.received} emit for each notification from batch.
+     *
+     * @throws {TypeError} in case if passed `payloads` is not type of _array_.
+     * @private
+     */
+    onNotifications(payloads) {
+        if (!TypeValidator.isTypeOf(payloads, Array)) {
+            throwError(new TypeError('Unexpected payloads: undefined or has unexpected data type (array expected).'));
+            return;
+        }
+
+        payloads.forEach(payload => this.onNotification(payload));
+    }
 }
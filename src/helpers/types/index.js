@@ -14,6 +14,16 @@
  * @property {!CEPlatforms} platforms Available platforms for push notification should be constructed when {@link ChatEngine} send events.
  * @property {CEFormatterCallback} [formatter] - Called each time when {@link ChatEngine} is about to send one of tracked `events` make layout
  *     formatting for notification.
+ * @property {Boolean} [batchedReplay=false] - Whether missed remote notifications should be delivered with batched
+ *     `$notifications.received` events replay (**Android only**).
+ */
+
+/**
+ * Chat engine notifications handler configuration object.
+ *
+ * @typedef {Object} CENotificationsOptions
+ * @property {Boolean} [batchedReplay=false] - Whether missed remote notifications should be requested from native module with
+ *     `receiveMissedEventsBatched` instead of `receiveMissedEvents` (**Android only**).
  */
 
 /**
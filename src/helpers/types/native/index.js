@@ -10,7 +10,7 @@
  * @typedef {Object} CENNotifications
  * @property {function} receiveMissedEvents - Inform native module what React native module is ready to listen events and would like to get any missed
  *     events (which has been sent while React native code has been loaded and initialized).
- * @property {CENApplicationIconBadgeNumberFunction} applicationIconBadgeNumber - Retrieve current application icon badge number (**iOS only**).
+ * @property {CENApplicationIconBadgeNumberFunction} applicationIconBadgeNumber - Retrieve current application icon badge number (on Android - value which has been set by module last time).
  * @property {CENApplicationIconBadgeNumberChangeFunction} setApplicationIconBadgeNumber - Update application's icon badge number to specified value.
  * @property {CENRequestPermissionsFunction} requestPermissions - Request notification feature usage permissions (**iOS only**).
  * @property {CENRegisterNotificationChannelsFunction} registerNotificationChannels - Register notification channels which contain information about
@@ -22,6 +22,15 @@
  *     {@link ChatEngine} users.
  * @property {CENFormatNotificationPayloadFunction} formatNotificationPayload - Format event payload and return resulting value with callback
  *     function.
+ * @property {CENGetDeliveredNotificationsPageFunction} deliveredNotificationsPage - Retrieve window of notifications which has been delivered to
+ *     device from {@link ChatEngine} users (**Android only**).
+ * @property {CENDeliveredNotificationsLimitsFunction} deliveredNotificationsLimits - Retrieve limits which is used to trim list of delivered
+ *     notifications (**Android only**).
+ * @property {CENSetDeliveredNotificationsLimitsFunction} setDeliveredNotificationsLimits - Update limits which is used to trim list of delivered
+ *     notifications (**Android only**).
+ * @property {CENReceiveMissedEventsBatchedFunction} receiveMissedEventsBatched - Inform native module what React native module is ready to listen
+ *     events and would like to get missed events with batched `CENReceivedRemoteNotifications` events (**Android only**).
+ * @property {CENGetMetricsFunction} getMetrics - Retrieve remote notifications processing pipeline metrics (**Android only**).
  */
 
 /**
@@ -110,6 +119,50 @@
  */
 
 
+/**
+ * Delivered notifications page request options (**Android only**).
+ *
+ * @typedef {Object} CENDeliveredNotificationsPageOptions
+ * @property {Number} [limit=20] - Maximum number of notifications which should be returned in page.
+ * @property {String} [cursor] - Continuation token which has been returned with previous page.
+ * @property {Number} [since] - Date (in milliseconds) starting from which notifications should be returned.
+ */
+
+/**
+ * Function which allow to receive window of notifications which is delivered to device from {@link ChatEngine} (from newest to oldest) (**Android
+ * only**).
+ *
+ * @typedef {function} CENGetDeliveredNotificationsPageFunction
+ * @param {CENDeliveredNotificationsPageOptions} options - Reference on page request options.
+ * @param {function(notifications: CENDeliveredNotificationPayload[], cursor: ?String)} callback - Reference on function which will be called with
+ *     list of delivered notifications and continuation token for next page (`null` if there is no more notifications).
+ */
+
+/**
+ * Limits which is used by native module to trim list of delivered notifications (**Android only**).
+ *
+ * @typedef {Object} CENDeliveredNotificationsLimits
+ * @property {Number} [maxCount] - Maximum number of notifications which is stored by native module.
+ * @property {Number} [maxBytes] - Maximum total size of stored notifications.
+ * @property {Number} [maxAge] - Maximum age (in milliseconds) of stored notification.
+ */
+
+/**
+ * Function which allow to retrieve limits which is used to trim list of delivered notifications (**Android only**).
+ *
+ * @typedef {function} CENDeliveredNotificationsLimitsFunction
+ * @param {function(limits: CENDeliveredNotificationsLimits)} callback - Reference on function which will be called with current limits.
+ */
+
+/**
+ * Function which allow to change limits which is used to trim list of delivered notifications (**Android only**).
+ * Zero or negative value will disable corresponding limit.
+ *
+ * @typedef {function} CENSetDeliveredNotificationsLimitsFunction
+ * @param {CENDeliveredNotificationsLimits} limits - Reference on object with limits which should be changed.
+ */
+
+
 /**
  * Native module remote notification representation.
  *
@@ -139,3 +192,80 @@
  * @property {!Date} date - When notification has been delivered to the user.
  * @property {!CENNotificationPayload} data - Reference on notification information object.
  */
+
+/**
+ * Function which allow to receive missed events in batches (**Android only**).
+ * Missed remote notification events for same {@link ChatEngine} event identifier collapsed to latest one and delivered
+ * with `CENReceivedRemoteNotifications` events (each carry list of `CENReceivedRemoteNotification` events payloads).
+ *
+ * @typedef {function} CENReceiveMissedEventsBatchedFunction
+ * @param {CENReceiveMissedEventsBatchedOptions} [options] - Reference on replay options.
+ */
+
+/**
+ * Batched missed events replay options (**Android only**).
+ *
+ * @typedef {Object} CENReceiveMissedEventsBatchedOptions
+ * @property {Number} [chunkSize=50] - Maximum number of notifications which can be delivered with single event.
+ */
+
+/**
+ * Function which allow to retrieve remote notifications processing pipeline metrics (**Android only**).
+ *
+ * @typedef {function} CENGetMetricsFunction
+ * @param {function(metrics: CENMetrics)} callback - Reference on function which will be called with metrics snapshot.
+ */
+
+/**
+ * Remote notifications processing pipeline metrics snapshot (**Android only**).
+ *
+ * @typedef {Object} CENMetrics
+ * @property {Object<String, CENStageMetrics>} stages - Duration metrics mapped to pipeline stage names: `queue`, `parse`,
+ *     `foregroundCheck`, `persistence`, `notify`, `broadcast`, `bridgeEmit` and `total`.
+ * @property {Object<String, Number>} counters - Pipeline events counters: `received`, `chatEngine`, `duplicates`, `posted`,
+ *     `emitted`, `stored` and `timedOut`.
+ * @property {CENDeliveryMetrics} delivery - End-to-end delivery latencies for recently received notifications.
+ */
+
+/**
+ * Pipeline stage duration metrics (**Android only**).
+ *
+ * @typedef {Object} CENStageMetrics
+ * @property {Number} count - Number of recorded stage executions.
+ * @property {Number} mean - Mean stage duration (in milliseconds).
+ * @property {Number} p50 - Median stage duration (in milliseconds).
+ * @property {Number} p90 - 90th percentile of stage duration (in milliseconds).
+ * @property {Number} p99 - 99th percentile of stage duration (in milliseconds).
+ * @property {Number} max - Longest stage duration (in milliseconds).
+ */
+
+/**
+ * Remote notifications end-to-end delivery latencies (**Android only**).
+ * `sentToReceived` latency calculated using `google.sent_time` and device clock, so it may be affected by clock skew.
+ *
+ * @typedef {Object} CENDeliveryMetrics
+ * @property {Number} count - Total number of tracked notifications.
+ * @property {CENDeliveryLatencies} latencies - Latency percentiles for all buffered delivery records.
+ * @property {Object<String, CENDeliveryLatencies>} channels - Latency percentiles mapped to notification channel identifiers.
+ * @property {Object<String, CENDeliveryLatencies>} events - Latency percentiles mapped to {@link ChatEngine} event names.
+ */
+
+/**
+ * Delivery latency percentiles (**Android only**).
+ *
+ * @typedef {Object} CENDeliveryLatencies
+ * @property {CENLatencyPercentiles} sentToReceived - Latencies between notification send and receive by device.
+ * @property {CENLatencyPercentiles} receivedToPosted - Latencies between notification receive and post to notification center.
+ * @property {CENLatencyPercentiles} receivedToDelivered - Latencies between notification receive and delivery to JS counterpart.
+ */
+
+/**
+ * Latency percentiles (**Android only**).
+ *
+ * @typedef {Object} CENLatencyPercentiles
+ * @property {Number} count - Number of measured latencies.
+ * @property {Number} p50 - Median latency (in milliseconds).
+ * @property {Number} p90 - 90th percentile of latency (in milliseconds).
+ * @property {Number} p99 - 99th percentile of latency (in milliseconds).
+ * @property {Number} max - Largest latency (in milliseconds).
+ */
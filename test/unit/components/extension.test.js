@@ -189,6 +189,12 @@ describe('unittest::CENotificationsExtension', () => {
             expect(() => new CENotificationsExtension(configuration))
                 .toThrowError(/Unexpected formatter: has unexpected data type \(function expected\)/);
         });
+
+        test('should throw TypeError when \'configuration.batchedReplay\' is not type of boolean', () => {
+            configuration.batchedReplay = 'true';
+            expect(() => new CENotificationsExtension(configuration))
+                .toThrowError(/Unexpected batchedReplay: has unexpected data type \(boolean expected\)/);
+        });
     });
 
     describe('#construct', () => {
@@ -51,6 +51,36 @@ describe('unittest::CENotifications', () => {
 
         });
 
+        test('should request missed events on Android by default', (done) => {
+            const originalPlatform = Platform.OS;
+            Platform.OS = 'android';
+            NativeModules.CENNotifications.receiveMissedEventsBatched = jest.fn();
+            new CENotifications();
+
+            setTimeout(() => {
+                expect(NativeModules.CENNotifications.receiveMissedEvents).toHaveBeenCalled();
+                expect(NativeModules.CENNotifications.receiveMissedEventsBatched).not.toHaveBeenCalled();
+                delete NativeModules.CENNotifications.receiveMissedEventsBatched;
+                Platform.OS = originalPlatform;
+                done();
+            }, 2000);
+        });
+
+        test('should request batched missed events on Android when batched replay enabled', (done) => {
+            const originalPlatform = Platform.OS;
+            Platform.OS = 'android';
+            NativeModules.CENNotifications.receiveMissedEventsBatched = jest.fn();
+            new CENotifications({ batchedReplay: true });
+
+            setTimeout(() => {
+                expect(NativeModules.CENNotifications.receiveMissedEventsBatched).toHaveBeenCalledWith(null);
+                expect(NativeModules.CENNotifications.receiveMissedEvents).not.toHaveBeenCalled();
+                delete NativeModules.CENNotifications.receiveMissedEventsBatched;
+                Platform.OS = originalPlatform;
+                done();
+            }, 2000);
+        });
+
         test('should subscribe on native module notifications', () => {
             const addListenerSpy = jest.spyOn(DeviceEventEmitter, 'addListener');
             new CENotifications();
@@ -523,10 +553,11 @@ describe('unittest::CENotifications', () => {
             const addListenerSpy = jest.spyOn(DeviceEventEmitter, 'addListener');
             new CENotifications();
             const registeredEvents = addListenerSpy.mock.calls.map(event => event[0]);
-            expect(addListenerSpy.mock.calls).toHaveLength(3);
+            expect(addListenerSpy.mock.calls).toHaveLength(4);
             expect(registeredEvents.includes('CENRegistered')).toBeTruthy();
             expect(registeredEvents.includes('CENFailedToRegister')).toBeTruthy();
             expect(registeredEvents.includes('CENReceivedRemoteNotification')).toBeTruthy();
+            expect(registeredEvents.includes('CENReceivedRemoteNotifications')).toBeTruthy();
             addListenerSpy.mockRestore();
         });
     });
@@ -641,6 +672,38 @@ describe('unittest::CENotifications', () => {
         });
     });
 
+    describe('onNotifications', () => {
+        let notifications = null;
+        beforeEach(() => {
+            notifications = new CENotifications();
+        });
+
+        test('should be function', () => {
+            expect(typeof notifications.onNotifications === 'function').toBeTruthy();
+        });
+
+        test('should be called in response on \'CENReceivedRemoteNotifications\' event', () => {
+            const batch = [{ PubNub: ['is', 'awesome!'] }];
+            const onNotificationsSpy = jest.spyOn(notifications, 'onNotifications');
+            DeviceEventEmitter.emit('CENReceivedRemoteNotifications', batch);
+            expect(onNotificationsSpy).toHaveBeenCalledWith(batch);
+            onNotificationsSpy.mockRestore();
+        });
+
+        test('should emit \'$notifications.received\' event for each notification in received order', () => {
+            const batch = [{ PubNub: ['is', 'awesome!'] }, { PubNub: ['is', 'fast!'] }];
+            const emitSpy = jest.spyOn(notifications, 'emit');
+            notifications.onNotifications(batch);
+            expect(emitSpy.mock.calls).toEqual([['$notifications.received', batch[0]], ['$notifications.received', batch[1]]]);
+            emitSpy.mockRestore();
+        });
+
+        test('should throw TypeError when \'payloads\' is not type of Array', () => {
+            expect(() => notifications.onNotifications({ PubNub: ['is', 'awesome!'] }))
+                .toThrowError(/Unexpected payloads: undefined or has unexpected data type \(array expected\)/);
+        });
+    });
+
     afterAll(() => {
         jest.unmock('NativeModules');
     });